@@ -0,0 +1,106 @@
+package com.momosoftworks.irradiated.common.debug;
+
+import com.momosoftworks.irradiated.common.radiation.BenchmarkSupport;
+import com.momosoftworks.irradiated.common.radiation.CompiledRadiationConfig;
+import com.momosoftworks.irradiated.common.radiation.RadiationBlockScanner;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Blocks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing one debug dashboard update, for a server with the given number of players near radioactive blocks.
+ * A full snapshot is what a newly connected client gets; a delta is what every client gets while players walk
+ * around, alternating between two snapshots in which every player has moved. Both are written as JSON for text
+ * clients and as MessagePack for binary ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DebugJsonBenchmark {
+
+    @Param({"1", "20", "100"})
+    public int players;
+
+    @Param({"json", "msgpack"})
+    public String encoding;
+
+    private RadiationDebugServer.DebugSnapshot[] snapshots;
+    private DebugStreamEncoder encoder;
+    private DebugStreamEncoder fullEncoder;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.init();
+        CompiledRadiationConfig config = CompiledRadiationConfig.get();
+        List<RadiationDebugServer.PlayerDebugData> playerData = new ArrayList<>();
+        List<RadiationDebugServer.PlayerDebugData> movedData = new ArrayList<>();
+
+        Random random = new Random(4L);
+        for (int i = 0; i < players; i++) {
+            BlockPos position = new BlockPos(random.nextInt(2000) - 1000, random.nextInt(100), random.nextInt(2000) - 1000);
+
+            // A full list of nearby sources, the most the dashboard reports
+            List<RadiationBlockScanner.SourceHit> sources = new ArrayList<>();
+            for (int s = 0; s < 20; s++) {
+                BlockPos pos = position.offset(random.nextInt(17) - 8, random.nextInt(17) - 8, random.nextInt(17) - 8);
+                sources.add(new RadiationBlockScanner.SourceHit(pos, Blocks.ANCIENT_DEBRIS, Math.sqrt(position.distSqr(pos)),
+                        random.nextFloat() * 0.05f, random.nextFloat()));
+            }
+
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            int level = random.nextInt(5);
+            boolean inWater = random.nextBoolean();
+            float armor = random.nextFloat() * 50.0f;
+            playerData.add(new RadiationDebugServer.PlayerDebugData("Player" + i, uuid, position, "minecraft:overworld",
+                    "minecraft:plains", level, random.nextFloat() * 100.0f, false, 0, 0, inWater, armor, List.copyOf(sources)));
+            // One block over, with a different exposure and the same sources
+            movedData.add(new RadiationDebugServer.PlayerDebugData("Player" + i, uuid, position.east(), "minecraft:overworld",
+                    "minecraft:plains", level, random.nextFloat() * 100.0f, false, 0, 0, inWater, armor, List.copyOf(sources)));
+        }
+
+        snapshots = new RadiationDebugServer.DebugSnapshot[]{
+                new RadiationDebugServer.DebugSnapshot(0L, playerData, config, 50.0),
+                new RadiationDebugServer.DebugSnapshot(100L, movedData, config, 50.0)
+        };
+        encoder = new DebugStreamEncoder(createWriter());
+        encoder.encode(snapshots[0]);
+        fullEncoder = new DebugStreamEncoder(createWriter());
+    }
+
+    @Benchmark
+    public byte[] writeFullSnapshot() {
+        // The delta against the same snapshot is close to empty, most of the time is the full snapshot
+        return fullEncoder.encode(snapshots[0]).keyframe();
+    }
+
+    @Benchmark
+    public byte[] writeDelta() {
+        next ^= 1;
+        return encoder.encode(snapshots[next]).message();
+    }
+
+    private DebugMessageWriter createWriter() {
+        return encoding.equals("msgpack") ? new DebugMessageWriter.MessagePack() : new DebugMessageWriter.Json();
+    }
+}
@@ -0,0 +1,29 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+/**
+ * Sets up just enough of the game for the radiation engine to run inside a benchmark.
+ */
+public class BenchmarkSupport {
+
+    private static boolean initialized = false;
+
+    /**
+     * Bootstrap the vanilla registries and use the config's default values.
+     * Safe to call from every benchmark's setup.
+     */
+    public static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        // No config file is loaded outside the game
+        CompiledRadiationConfig.set(CompiledRadiationConfig.defaults());
+        RadiationBlockTable.set(RadiationBlockTable.compileDefaults());
+        initialized = true;
+    }
+}
@@ -0,0 +1,57 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.core.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Block radiation around a receiver: the indexed scan against the legacy full-cube scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockScanBenchmark {
+
+    @Param({"8", "16", "32"})
+    public int range;
+
+    @Param({"true", "false"})
+    public boolean shielding;
+
+    private SyntheticRadiationWorld world;
+    private LegacyRadiation legacy;
+    private BlockPos center;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.init();
+        world = SyntheticRadiationWorld.generate(96, 120, 40, 1L);
+        legacy = new LegacyRadiation();
+        center = world.getCenter();
+    }
+
+    @Benchmark
+    public RadiationBlockScanner.ScanResult indexedScan() {
+        return RadiationBlockScanner.scan(world, center, range, shielding);
+    }
+
+    @Benchmark
+    public float legacyScan() {
+        return legacy.getBlockRadiationIntensity(world, center, range, shielding);
+    }
+}
@@ -0,0 +1,114 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The block scan and shielding ray march the radiation system used before they were
+ * rewritten, kept as a baseline for the benchmarks.
+ *
+ * <p>Both look blocks up by registry name in string-keyed maps parsed from the config's
+ * default values, scan the full cube around the receiver, and march shielding rays in
+ * half-block steps.</p>
+ */
+public class LegacyRadiation {
+
+    private final Map<String, Float> radiationValues = new HashMap<>();  // Per-second chance by block id
+    private final Map<String, Double> shieldingValues = new HashMap<>(); // Shielding percentage by block id
+    private final double defaultShielding;
+
+    public LegacyRadiation() {
+        for (String entry : RadiationConfig.RADIOACTIVE_BLOCKS.getDefault()) {
+            String[] parts = entry.split(":");
+            radiationValues.put(parts[0] + ":" + parts[1], Float.parseFloat(parts[2]));
+        }
+        for (String entry : RadiationConfig.SHIELDING_BLOCKS.getDefault()) {
+            String[] parts = entry.split(":");
+            shieldingValues.put(parts[0] + ":" + parts[1], Double.parseDouble(parts[2]));
+        }
+        this.defaultShielding = RadiationConfig.DEFAULT_BLOCK_SHIELDING.getDefault();
+    }
+
+    /**
+     * Sum the radiation of every configured block in the cube around a position
+     */
+    public float getBlockRadiationIntensity(BlockGetter world, BlockPos playerPos, int range, boolean shieldingEnabled) {
+        float totalIntensity = 0.0f;
+
+        for (int x = -range; x <= range; x++) {
+            for (int y = -range; y <= range; y++) {
+                for (int z = -range; z <= range; z++) {
+                    BlockPos checkPos = playerPos.offset(x, y, z);
+                    BlockState blockState = world.getBlockState(checkPos);
+                    String blockIdString = BuiltInRegistries.BLOCK.getKey(blockState.getBlock()).toString();
+
+                    Float chancePerSecond = radiationValues.get(blockIdString);
+                    if (chancePerSecond != null) {
+                        double distance = Math.sqrt(x * x + y * y + z * z);
+                        float baseIntensity = chancePerSecond / 20.0f;
+                        float adjustedIntensity = baseIntensity * (1.0f - (float) (distance / (range * 1.2)));
+                        adjustedIntensity = Math.max(0, adjustedIntensity);
+
+                        if (shieldingEnabled && adjustedIntensity > 0) {
+                            adjustedIntensity *= (1.0f - calculateShieldingReduction(world, checkPos, playerPos));
+                        }
+                        totalIntensity += adjustedIntensity;
+                    }
+                }
+            }
+        }
+        return totalIntensity;
+    }
+
+    /**
+     * March from the source to the receiver in half-block steps, summing the shielding of each block hit
+     * @return Shielding reduction factor (0.0 to 1.0)
+     */
+    public float calculateShieldingReduction(BlockGetter world, BlockPos sourcePos, BlockPos playerPos) {
+        double totalShielding = 0.0;
+
+        double dx = playerPos.getX() - sourcePos.getX();
+        double dy = playerPos.getY() - sourcePos.getY();
+        double dz = playerPos.getZ() - sourcePos.getZ();
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (distance < 1.0) {
+            return 0.0f;
+        }
+        dx /= distance;
+        dy /= distance;
+        dz /= distance;
+
+        double stepSize = 0.5;
+        Set<BlockPos> visitedBlocks = new HashSet<>();
+
+        for (double t = stepSize; t < distance - 0.5; t += stepSize) {
+            int checkX = (int) Math.floor(sourcePos.getX() + dx * t + 0.5);
+            int checkY = (int) Math.floor(sourcePos.getY() + dy * t + 0.5);
+            int checkZ = (int) Math.floor(sourcePos.getZ() + dz * t + 0.5);
+            BlockPos checkPos = new BlockPos(checkX, checkY, checkZ);
+
+            if (checkPos.equals(sourcePos) || checkPos.equals(playerPos) || !visitedBlocks.add(checkPos)) {
+                continue;
+            }
+
+            BlockState blockState = world.getBlockState(checkPos);
+            if (blockState.isAir() || !blockState.isSolidRender(world, checkPos)) {
+                continue;
+            }
+
+            String blockIdString = BuiltInRegistries.BLOCK.getKey(blockState.getBlock()).toString();
+            totalShielding += shieldingValues.getOrDefault(blockIdString, defaultShielding);
+            if (totalShielding >= 100.0) {
+                return 1.0f;
+            }
+        }
+        return (float) Math.min(1.0, totalShielding / 100.0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.core.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shielding along a single ray: the voxel traversal against the legacy half-block ray march.
+ *
+ * <p>Each invocation traces a fixed set of random rays of the given length through the
+ * synthetic world, so the result is the average cost of one ray.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShieldingBenchmark {
+
+    private static final int RAYS = 256;
+
+    @Param({"4", "8", "16", "32"})
+    public int length;
+
+    private SyntheticRadiationWorld world;
+    private LegacyRadiation legacy;
+    private final BlockPos[] sources = new BlockPos[RAYS];
+    private final BlockPos[] receivers = new BlockPos[RAYS];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.init();
+        world = SyntheticRadiationWorld.generate(96, 120, 40, 1L);
+        legacy = new LegacyRadiation();
+
+        // Random directions from points around the center, all exactly the requested length
+        Random random = new Random(2L);
+        BlockPos center = world.getCenter();
+        for (int i = 0; i < RAYS; i++) {
+            double dx = random.nextGaussian(), dy = random.nextGaussian() * 0.5, dz = random.nextGaussian();
+            double norm = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            BlockPos source = center.offset(random.nextInt(17) - 8, random.nextInt(9) - 4, random.nextInt(17) - 8);
+            sources[i] = source;
+            receivers[i] = source.offset((int) Math.round(dx / norm * length), (int) Math.round(dy / norm * length),
+                    (int) Math.round(dz / norm * length));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void voxelTraversal(Blackhole blackhole) {
+        for (int i = 0; i < RAYS; i++) {
+            blackhole.consume(RadiationShielding.getShieldingFactor(world, sources[i], receivers[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void legacyRayMarch(Blackhole blackhole) {
+        for (int i = 0; i < RAYS; i++) {
+            blackhole.consume(legacy.calculateShieldingReduction(world, sources[i], receivers[i]));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * In-memory block world for benchmarks, so the radiation engine can be measured without a server.
+ *
+ * <p>The world is a cube of {@code size} blocks starting at the origin, made of stone ground with
+ * scattered shielding walls and radioactive ore veins above it. Everything outside the cube is air.
+ * Sources are indexed per section the same way {@link RadiationSourceIndex} does it.</p>
+ */
+public class SyntheticRadiationWorld implements BlockGetter, RadiationBlockScanner.View {
+
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+
+    private final int size;
+    private final int sections;
+    private final BlockState[] states;
+    private final ShortOpenHashSet[] sources;
+    private int sourceCount;
+
+    private SyntheticRadiationWorld(int size) {
+        this.size = size;
+        this.sections = size >> 4;
+        this.states = new BlockState[size * size * size];
+        this.sources = new ShortOpenHashSet[sections * sections * sections];
+        Arrays.fill(states, AIR);
+    }
+
+    /**
+     * Generate a world
+     * @param size Edge length in blocks, a multiple of 16
+     * @param veins Number of radioactive ore veins
+     * @param walls Number of shielding walls
+     * @param seed Seed for block placement, so runs are comparable
+     */
+    public static SyntheticRadiationWorld generate(int size, int veins, int walls, long seed) {
+        SyntheticRadiationWorld world = new SyntheticRadiationWorld(size);
+        Random random = new Random(seed);
+        int ground = size / 2;
+
+        // Stone ground with deepslate underneath
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                for (int y = 0; y < ground; y++) {
+                    world.set(x, y, z, (y < ground / 2 ? Blocks.DEEPSLATE : Blocks.STONE).defaultBlockState());
+                }
+            }
+        }
+
+        // Shielding walls standing on the ground
+        BlockState[] wallBlocks = {Blocks.OBSIDIAN.defaultBlockState(), Blocks.IRON_BLOCK.defaultBlockState(),
+                Blocks.COBBLESTONE.defaultBlockState(), Blocks.GLASS.defaultBlockState()};
+        for (int i = 0; i < walls; i++) {
+            BlockState wall = wallBlocks[random.nextInt(wallBlocks.length)];
+            boolean alongX = random.nextBoolean();
+            int length = 4 + random.nextInt(12);
+            int height = 2 + random.nextInt(6);
+            int startX = random.nextInt(size), startZ = random.nextInt(size);
+            for (int l = 0; l < length; l++) {
+                for (int h = 0; h < height; h++) {
+                    world.set(alongX ? startX + l : startX, ground + h, alongX ? startZ : startZ + l, wall);
+                }
+            }
+        }
+
+        // Radioactive veins, both buried and exposed
+        BlockState[] oreBlocks = {Blocks.ANCIENT_DEBRIS.defaultBlockState(), Blocks.REDSTONE_BLOCK.defaultBlockState(),
+                Blocks.NETHERITE_BLOCK.defaultBlockState()};
+        for (int i = 0; i < veins; i++) {
+            BlockState ore = oreBlocks[random.nextInt(oreBlocks.length)];
+            int x = random.nextInt(size), y = ground - 8 + random.nextInt(16), z = random.nextInt(size);
+            int blocks = 3 + random.nextInt(6);
+            for (int b = 0; b < blocks; b++) {
+                world.set(x, y, z, ore);
+                x += random.nextInt(3) - 1;
+                y += random.nextInt(3) - 1;
+                z += random.nextInt(3) - 1;
+            }
+        }
+
+        world.indexSources();
+        return world;
+    }
+
+    /**
+     * @return Center of the world, on top of the ground
+     */
+    public BlockPos getCenter() {
+        return new BlockPos(size / 2, size / 2, size / 2);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getSourceCount() {
+        return sourceCount;
+    }
+
+    private void set(int x, int y, int z, BlockState state) {
+        if (contains(x, y, z)) {
+            states[index(x, y, z)] = state;
+        }
+    }
+
+    private void indexSources() {
+        RadiationBlockTable table = RadiationBlockTable.get();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                for (int z = 0; z < size; z++) {
+                    if (table.isRadioactive(states[index(x, y, z)])) {
+                        int section = sectionIndex(x >> 4, y >> 4, z >> 4);
+                        if (sources[section] == null) {
+                            sources[section] = new ShortOpenHashSet();
+                        }
+                        sources[section].add(SectionPos.sectionRelativePos(new BlockPos(x, y, z)));
+                        sourceCount++;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public ShortSet getSectionSources(int sectionX, int sectionY, int sectionZ) {
+        if (sectionX < 0 || sectionY < 0 || sectionZ < 0 || sectionX >= sections || sectionY >= sections || sectionZ >= sections) {
+            return null;
+        }
+        return sources[sectionIndex(sectionX, sectionY, sectionZ)];
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return contains(pos.getX(), pos.getY(), pos.getZ()) ? states[index(pos.getX(), pos.getY(), pos.getZ())] : AIR;
+    }
+
+    @Override
+    public float getShielding(BlockPos sourcePos, BlockPos receiverPos) {
+        return RadiationShielding.getShieldingFactor(this, sourcePos, receiverPos);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getHeight() {
+        return size;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return 0;
+    }
+
+    private boolean contains(int x, int y, int z) {
+        return x >= 0 && y >= 0 && z >= 0 && x < size && y < size && z < size;
+    }
+
+    private int index(int x, int y, int z) {
+        return (x * size + z) * size + y;
+    }
+
+    private int sectionIndex(int sectionX, int sectionY, int sectionZ) {
+        return (sectionX * sections + sectionZ) * sections + sectionY;
+    }
+}
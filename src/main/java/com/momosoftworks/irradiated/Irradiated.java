@@ -2,8 +2,17 @@ package com.momosoftworks.irradiated;
 
 import com.momosoftworks.irradiated.common.command.RadiationCommand;
 import com.momosoftworks.irradiated.common.debug.RadiationDebugServer;
+import com.momosoftworks.irradiated.common.network.RadiationNetwork;
+import com.momosoftworks.irradiated.common.radiation.CompiledRadiationConfig;
 import com.momosoftworks.irradiated.common.radiation.DynamicRadiationHandler;
+import com.momosoftworks.irradiated.common.radiation.RadiationBiomeTable;
+import com.momosoftworks.irradiated.common.radiation.RadiationBlockTable;
 import com.momosoftworks.irradiated.common.radiation.RadiationConfig;
+import com.momosoftworks.irradiated.common.radiation.RadiationDimensionTable;
+import com.momosoftworks.irradiated.common.radiation.RadiationProfiler;
+import com.momosoftworks.irradiated.common.radiation.RadiationEnvironmentLoader;
+import com.momosoftworks.irradiated.common.radiation.RadiationWorldEvents;
+import com.momosoftworks.irradiated.core.init.ModAttachments;
 import com.momosoftworks.irradiated.core.init.ModCreativeTab;
 import com.momosoftworks.irradiated.core.init.ModEffects;
 import com.momosoftworks.irradiated.core.init.ModItems;
@@ -14,6 +23,7 @@ import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.common.Mod;
+import net.neoforged.fml.event.config.ModConfigEvent;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
 import net.neoforged.fml.loading.FMLEnvironment;
 import net.neoforged.neoforge.common.NeoForge;
@@ -25,17 +35,31 @@ public class Irradiated {
 	public static final String MOD_ID = "irradiated";
 
 	public Irradiated(IEventBus modBus, ModContainer modContainer) {
-		// Register items, effects, particles, sounds, and creative tabs
+		// Register items, effects, particles, sounds, creative tabs and data attachments
 		ModItems.ITEMS.register(modBus);
 		ModEffects.REGISTER.register(modBus);
 		ModParticles.REGISTER.register(modBus);
 		ModSounds.REGISTER.register(modBus);
 		ModCreativeTab.REGISTER.register(modBus);
+		ModAttachments.REGISTER.register(modBus);
 
 		// Register common config (works on both client and server)
 		// Config file will be at: config/irradiated/irradiated-common.toml
 		modContainer.registerConfig(net.neoforged.fml.config.ModConfig.Type.COMMON, RadiationConfig.SPEC, "irradiated/irradiated-common.toml");
 
+		// Rebuild the config snapshot and recompile the block, biome and dimension lookup tables whenever the config is (re)loaded
+		modBus.addListener(ModConfigEvent.Loading.class, CompiledRadiationConfig::onConfigChanged);
+		modBus.addListener(ModConfigEvent.Reloading.class, CompiledRadiationConfig::onConfigChanged);
+		modBus.addListener(ModConfigEvent.Loading.class, RadiationBlockTable::onConfigChanged);
+		modBus.addListener(ModConfigEvent.Reloading.class, RadiationBlockTable::onConfigChanged);
+		modBus.addListener(ModConfigEvent.Loading.class, RadiationBiomeTable::onConfigChanged);
+		modBus.addListener(ModConfigEvent.Reloading.class, RadiationBiomeTable::onConfigChanged);
+		modBus.addListener(ModConfigEvent.Loading.class, RadiationDimensionTable::onConfigChanged);
+		modBus.addListener(ModConfigEvent.Reloading.class, RadiationDimensionTable::onConfigChanged);
+
+		// Register network payloads
+		modBus.addListener(RadiationNetwork::onRegisterPayloads);
+
 		// Register client config and extensions only on client side
 		if (FMLEnvironment.dist == Dist.CLIENT) {
 			registerClientConfig(modContainer);
@@ -44,7 +68,11 @@ public class Irradiated {
 
 		// Register radiation systems (server-side mechanics)
 		NeoForge.EVENT_BUS.register(DynamicRadiationHandler.class);
+		NeoForge.EVENT_BUS.register(RadiationWorldEvents.class);
+		NeoForge.EVENT_BUS.addListener(RadiationEnvironmentLoader::onAddReloadListeners);
+		NeoForge.EVENT_BUS.addListener(RadiationEnvironmentLoader::onTagsUpdated);
 		NeoForge.EVENT_BUS.addListener(RadiationTempHandler::onPlayerTick);
+		NeoForge.EVENT_BUS.addListener(RadiationProfiler::onServerTick);
 
 		// Register commands (server-side)
 		NeoForge.EVENT_BUS.addListener((net.neoforged.neoforge.event.RegisterCommandsEvent e) ->
@@ -53,6 +81,7 @@ public class Irradiated {
 		// Register debug server events (server-side)
 		NeoForge.EVENT_BUS.addListener(this::onServerStarted);
 		NeoForge.EVENT_BUS.addListener(this::onServerStopping);
+		NeoForge.EVENT_BUS.addListener(RadiationDebugServer::onServerTick);
 
 		// Register client setup event listener only on client side
 		if (FMLEnvironment.dist == Dist.CLIENT) {
@@ -2,10 +2,14 @@ package com.momosoftworks.irradiated.api.radiation;
 
 import com.momosoftworks.irradiated.common.temp.ColdSweatApiBridge;
 import com.momosoftworks.irradiated.common.radiation.DynamicRadiationHandler;
+import com.momosoftworks.irradiated.common.radiation.RadiationShielding;
 import com.momosoftworks.irradiated.core.init.ModEffects;
+import net.minecraft.core.BlockPos;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.state.BlockState;
 
 /**
  * Public API for managing radiation effects in the Irradiated mod.
@@ -207,4 +211,26 @@ public class RadiationAPI {
         MobEffectInstance radiation = entity.getEffect(ModEffects.radiationHolder());
         return radiation != null ? radiation.getDuration() : 0;
     }
+    
+    /**
+     * Get how much radiation is blocked between a source and a receiving position.
+     * Every block crossed by a straight line between the two block centers counts
+     * towards the total; the source and receiver blocks themselves do not.
+     * @param level The level to read blocks from
+     * @param sourcePos The position of the radiation source
+     * @param receiverPos The position receiving radiation
+     * @return Shielding reduction factor (0.0 = no shielding, 1.0 = fully blocked)
+     */
+    public static float getShieldingBetween(BlockGetter level, BlockPos sourcePos, BlockPos receiverPos) {
+        return RadiationShielding.getShieldingFactor(level, sourcePos, receiverPos);
+    }
+    
+    /**
+     * Get the shielding a block state provides against radiation passing through it
+     * @param state The block state to check
+     * @return Shielding percentage (0-100), from the shielding blocks config
+     */
+    public static float getBlockShielding(BlockState state) {
+        return RadiationShielding.getShielding(state);
+    }
 }
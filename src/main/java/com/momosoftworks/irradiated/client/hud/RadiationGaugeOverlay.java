@@ -2,6 +2,7 @@ package com.momosoftworks.irradiated.client.hud;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.PoseStack;
+import com.momosoftworks.irradiated.common.radiation.DynamicRadiationHandler;
 import com.momosoftworks.irradiated.core.init.ModEffects;
 import com.momosoftworks.irradiated.util.RadiationUtil;
 import net.minecraft.client.Minecraft;
@@ -26,7 +27,7 @@ public class RadiationGaugeOverlay {
 		Minecraft mc = Minecraft.getInstance();
 		if (mc.player == null || mc.options.hideGui) return;
 
-		// Use RadiationAPI to get current radiation level (integrates both old and new systems)
+		// Use RadiationAPI to get current radiation level (synced from the server by RadiationClientSync)
 		int radiationLevel = com.momosoftworks.irradiated.api.radiation.RadiationAPI.getRadiationLevel(mc.player);
 		
 		// Check if we should show numbers (creative mode OR has geiger counter)
@@ -120,7 +121,9 @@ public class RadiationGaugeOverlay {
 		// Only show radiation level text when in creative or has geiger counter
 		if (showNumbers) {
 			// Radiation level text display (shows actual radiation level 1-100)
-			String radText = "" + level;
+			// with an arrow while it is building up or decaying
+			float trend = DynamicRadiationHandler.getRadiationTrend(mc.player);
+			String radText = level + (trend > 0 ? "\u2191" : trend < 0 ? "\u2193" : "");
 			// Calculate text width for right alignment
 			int textWidth = mc.font.width(radText);
 			int textX = width / 2 - 110 - 5 - textWidth + offhandOffset; // Right-aligned to the left of indicator, adjusted for off-hand
@@ -6,6 +6,7 @@ import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.momosoftworks.irradiated.api.radiation.RadiationAPI;
 import com.momosoftworks.irradiated.common.radiation.DynamicRadiationHandler;
+import com.momosoftworks.irradiated.common.radiation.RadiationProfiler;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.server.level.ServerPlayer;
@@ -26,7 +27,10 @@ public class RadiationCommand {
                     .executes(RadiationCommand::reduceRadiation)))
             .then(Commands.literal("clear").executes(RadiationCommand::clearRadiation))
             .then(Commands.literal("get").executes(RadiationCommand::getRadiation))
-            .then(Commands.literal("exposure").executes(RadiationCommand::getExposure));
+            .then(Commands.literal("exposure").executes(RadiationCommand::getExposure))
+            .then(Commands.literal("perf").executes(RadiationCommand::showPerf)
+                .then(Commands.literal("start").executes(RadiationCommand::startPerf))
+                .then(Commands.literal("stop").executes(RadiationCommand::stopPerf)));
 
         dispatcher.register(root);
     }
@@ -129,6 +133,45 @@ public class RadiationCommand {
             return 0;
         }
     }
-}
 
+    private static int startPerf(CommandContext<CommandSourceStack> ctx) {
+        boolean restarted = RadiationProfiler.isEnabled();
+        RadiationProfiler.enable();
+        ctx.getSource().sendSuccess(() -> net.minecraft.network.chat.Component.literal(restarted
+            ? "Radiation profiling restarted"
+            : "Radiation profiling started, see /rad perf for results"), true);
+        return 1;
+    }
+
+    private static int stopPerf(CommandContext<CommandSourceStack> ctx) {
+        RadiationProfiler.disable();
+        ctx.getSource().sendSuccess(() -> net.minecraft.network.chat.Component.literal("Radiation profiling stopped"), true);
+        return 1;
+    }
+
+    private static int showPerf(CommandContext<CommandSourceStack> ctx) {
+        if (!RadiationProfiler.isEnabled()) {
+            ctx.getSource().sendFailure(net.minecraft.network.chat.Component.literal("Radiation profiling is off. Start it with /rad perf start"));
+            return 0;
+        }
 
+        long ticks = RadiationProfiler.getWindowTicks();
+        StringBuilder text = new StringBuilder(String.format("Radiation timings over the last %.1fs (%d ticks):", ticks / 20.0, ticks));
+        for (RadiationProfiler.StageStats stats : RadiationProfiler.getStats()) {
+            text.append(String.format("%n%s: %.3f ms/tick, %d calls, mean %s, p50 %s, p99 %s, max %s",
+                stats.stage().getName(), stats.nanosPerTick() / 1_000_000.0, stats.calls(), formatNanos(stats.meanNanos()),
+                formatNanos(stats.p50Nanos()), formatNanos(stats.p99Nanos()), formatNanos(stats.maxNanos())));
+        }
+        ctx.getSource().sendSuccess(() -> net.minecraft.network.chat.Component.literal(text.toString()), false);
+        return 1;
+    }
+
+    private static String formatNanos(double nanos) {
+        if (nanos < 1_000) {
+            return String.format("%.0fns", nanos);
+        } else if (nanos < 1_000_000) {
+            return String.format("%.1f\u00b5s", nanos / 1_000.0);
+        }
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,449 @@
+package com.momosoftworks.irradiated.common.debug;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Writes the debug dashboard's messages in one of its encodings, into a buffer reused from message to message.
+ *
+ * <p>{@link Json} writes text. {@link MessagePack} writes the same structure as
+ * <a href="https://msgpack.org">MessagePack</a>, which decodes to the same objects in fewer bytes and
+ * without formatting any numbers. Objects and arrays are given their size up front, as MessagePack needs it.</p>
+ *
+ * <p>Numbers with a fixed number of decimals are rounded before they're written, so two values that round
+ * the same are written the same in either encoding.</p>
+ */
+abstract class DebugMessageWriter {
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    protected ByteBuffer buffer = ByteBuffer.allocate(16 * 1024);
+
+    abstract boolean isBinary();
+
+    abstract void beginObject(int fields);
+
+    abstract void endObject();
+
+    abstract void beginArray(int size);
+
+    abstract void endArray();
+
+    abstract void name(String name);
+
+    abstract void value(String value);
+
+    abstract void value(long value);
+
+    abstract void value(boolean value);
+
+    abstract void value(double value);
+
+    /**
+     * Write a number rounded to a number of decimals, up to 6
+     */
+    abstract void value(double value, int decimals);
+
+    /**
+     * Copy a whole value written earlier by this writer, e.g. one cached from a previous message
+     */
+    void raw(byte[] data, int from, int to) {
+        beforeValue();
+        put(data, from, to - from);
+    }
+
+    void raw(byte[] data) {
+        raw(data, 0, data.length);
+    }
+
+    /**
+     * Start a new message, discarding what was written
+     */
+    void reset() {
+        buffer.clear();
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    /**
+     * @return Copy of what was written since the last reset
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    protected void beforeValue() {
+    }
+
+    protected void put(int b) {
+        ensure(1);
+        buffer.put((byte) b);
+    }
+
+    protected void put(byte[] data, int offset, int length) {
+        ensure(length);
+        buffer.put(data, offset, length);
+    }
+
+    protected void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+
+    /**
+     * Write a string's UTF-8 bytes, replacing unpaired surrogates with '?'
+     */
+    protected void putUtf8(String value) {
+        ensure(value.length() * 3);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    protected static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * @return The value times 10^decimals, rounded
+     */
+    protected static long scale(double value, int decimals) {
+        return Math.round(value * POWERS_OF_TEN[decimals]);
+    }
+
+    static class Json extends DebugMessageWriter {
+        // Whether nothing has been written yet in each open object or array, by depth
+        private boolean[] empty = new boolean[8];
+        private int depth = 0;
+        private boolean afterName = false;
+
+        @Override
+        boolean isBinary() {
+            return false;
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            depth = 0;
+            afterName = false;
+        }
+
+        @Override
+        void beginObject(int fields) {
+            beforeValue();
+            put('{');
+            push();
+        }
+
+        @Override
+        void endObject() {
+            depth--;
+            put('}');
+        }
+
+        @Override
+        void beginArray(int size) {
+            beforeValue();
+            put('[');
+            push();
+        }
+
+        @Override
+        void endArray() {
+            depth--;
+            put(']');
+        }
+
+        @Override
+        void name(String name) {
+            separate();
+            putString(name);
+            put(':');
+            afterName = true;
+        }
+
+        @Override
+        void value(String value) {
+            beforeValue();
+            putString(value);
+        }
+
+        @Override
+        void value(long value) {
+            beforeValue();
+            putLong(value);
+        }
+
+        @Override
+        void value(boolean value) {
+            beforeValue();
+            putAscii(value ? "true" : "false");
+        }
+
+        @Override
+        void value(double value) {
+            beforeValue();
+            putAscii(Double.isFinite(value) ? Double.toString(value) : "null");
+        }
+
+        @Override
+        void value(double value, int decimals) {
+            beforeValue();
+            if (!Double.isFinite(value)) {
+                putAscii("null");
+                return;
+            }
+            long scaled = scale(value, decimals);
+            if (scaled < 0) {
+                put('-');
+                scaled = -scaled;
+            }
+            long unit = POWERS_OF_TEN[decimals];
+            putLong(scaled / unit);
+            if (decimals > 0) {
+                put('.');
+                long fraction = scaled % unit;
+                // Leading zeros of the fraction
+                for (long digit = unit / 10; digit > 1 && fraction < digit; digit /= 10) {
+                    put('0');
+                }
+                putLong(fraction);
+            }
+        }
+
+        @Override
+        protected void beforeValue() {
+            if (afterName) {
+                afterName = false;
+            } else {
+                separate();
+            }
+        }
+
+        private void separate() {
+            if (depth > 0) {
+                if (!empty[depth - 1]) {
+                    put(',');
+                }
+                empty[depth - 1] = false;
+            }
+        }
+
+        private void push() {
+            if (depth == empty.length) {
+                empty = Arrays.copyOf(empty, depth * 2);
+            }
+            empty[depth++] = true;
+        }
+
+        private void putString(String value) {
+            put('"');
+            int start = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\' || c < 0x20) {
+                    putUtf8(value.substring(start, i));
+                    switch (c) {
+                        case '"' -> putAscii("\\\"");
+                        case '\\' -> putAscii("\\\\");
+                        case '\n' -> putAscii("\\n");
+                        case '\r' -> putAscii("\\r");
+                        case '\t' -> putAscii("\\t");
+                        default -> putAscii(String.format("\\u%04x", (int) c));
+                    }
+                    start = i + 1;
+                }
+            }
+            putUtf8(start == 0 ? value : value.substring(start));
+            put('"');
+        }
+
+        private void putLong(long value) {
+            if (value >= 0 && value < 10) {
+                put('0' + (int) value);
+            } else {
+                putAscii(Long.toString(value));
+            }
+        }
+
+        private void putAscii(String value) {
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                buffer.put((byte) value.charAt(i));
+            }
+        }
+    }
+
+    static class MessagePack extends DebugMessageWriter {
+
+        @Override
+        boolean isBinary() {
+            return true;
+        }
+
+        @Override
+        void beginObject(int fields) {
+            if (fields < 16) {
+                put(0x80 | fields);
+            } else if (fields < 0x10000) {
+                put(0xDE);
+                putShort(fields);
+            } else {
+                put(0xDF);
+                putInt(fields);
+            }
+        }
+
+        @Override
+        void endObject() {
+        }
+
+        @Override
+        void beginArray(int size) {
+            if (size < 16) {
+                put(0x90 | size);
+            } else if (size < 0x10000) {
+                put(0xDC);
+                putShort(size);
+            } else {
+                put(0xDD);
+                putInt(size);
+            }
+        }
+
+        @Override
+        void endArray() {
+        }
+
+        @Override
+        void name(String name) {
+            value(name);
+        }
+
+        @Override
+        void value(String value) {
+            int length = utf8Length(value);
+            if (length < 32) {
+                put(0xA0 | length);
+            } else if (length < 0x100) {
+                put(0xD9);
+                put(length);
+            } else if (length < 0x10000) {
+                put(0xDA);
+                putShort(length);
+            } else {
+                put(0xDB);
+                putInt(length);
+            }
+            putUtf8(value);
+        }
+
+        @Override
+        void value(long value) {
+            if (value >= -32 && value < 128) {
+                // Positive or negative fixint
+                put((int) value);
+            } else if (value >= 0 && value < 0x100) {
+                put(0xCC);
+                put((int) value);
+            } else if (value >= 0 && value < 0x10000) {
+                put(0xCD);
+                putShort((int) value);
+            } else if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                put(0xD2);
+                putInt((int) value);
+            } else {
+                put(0xD3);
+                ensure(8);
+                buffer.putLong(value);
+            }
+        }
+
+        @Override
+        void value(boolean value) {
+            put(value ? 0xC3 : 0xC2);
+        }
+
+        @Override
+        void value(double value) {
+            if (!Double.isFinite(value)) {
+                put(0xC0);
+                return;
+            }
+            put(0xCB);
+            ensure(8);
+            buffer.putDouble(value);
+        }
+
+        @Override
+        void value(double value, int decimals) {
+            if (!Double.isFinite(value)) {
+                put(0xC0);
+                return;
+            }
+            long scaled = scale(value, decimals);
+            long unit = POWERS_OF_TEN[decimals];
+            if (scaled % unit == 0) {
+                value(scaled / unit);
+            } else if (Math.abs(scaled) < 1_000_000) {
+                // Up to 7 significant digits, which a float keeps
+                put(0xCA);
+                ensure(4);
+                buffer.putFloat((float) ((double) scaled / unit));
+            } else {
+                value((double) scaled / unit);
+            }
+        }
+
+        private void putShort(int value) {
+            ensure(2);
+            buffer.putShort((short) value);
+        }
+
+        private void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+    }
+}
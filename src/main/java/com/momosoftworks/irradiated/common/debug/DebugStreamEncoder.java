@@ -0,0 +1,324 @@
+package com.momosoftworks.irradiated.common.debug;
+
+import com.momosoftworks.irradiated.common.radiation.CompiledRadiationConfig;
+import com.momosoftworks.irradiated.common.radiation.RadiationBlockScanner;
+import com.momosoftworks.irradiated.common.radiation.RadiationMetrics;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Turns successive debug snapshots into the dashboard's stream of messages: a full snapshot for clients that
+ * need one, and otherwise a delta with only what changed since the previous snapshot.
+ *
+ * <p>Every message has a {@code type}, the protocol {@code version} and a sequence number {@code seq}, one
+ * higher for each snapshot.</p>
+ * <ul>
+ *   <li>{@code full}: every player, the config and the metrics</li>
+ *   <li>{@code delta}: applies on top of the state at {@code baseSeq}. {@code players} only has the players
+ *   that changed, each with its {@code uuid} and the fields that changed; players who just joined have every
+ *   field. {@code removed} has the UUIDs of players who left. {@code config} is only there when it changed,
+ *   {@code metrics} always is.</li>
+ * </ul>
+ *
+ * <p>A client that gets a delta whose {@code baseSeq} isn't the last {@code seq} it applied has missed one,
+ * and sends {@code {"action":"resync"}} for a full snapshot. Clients that just connected, or that had a delta
+ * dropped because they fell behind, are sent a full snapshot without asking.</p>
+ *
+ * <p>Messages are written in the encoding of the given {@link DebugMessageWriter}. Each player's fields are
+ * kept as the bytes they were written as, so a field only counts as changed when its bytes do; exposure,
+ * for example, is compared at the two decimals sent.</p>
+ */
+class DebugStreamEncoder {
+
+    static final int PROTOCOL_VERSION = 2;
+
+    private static final String[] PLAYER_FIELDS = {
+            "name", "uuid", "position", "dimension", "biome", "radiationLevel", "dynamicExposure",
+            "hasRadResistance", "radResistanceLevel", "radResistanceDuration", "isInWater", "armorProtection",
+            "nearbyRadioactiveBlocks"
+    };
+    private static final int UUID_FIELD = 1;
+    private static final int ALL_FIELDS = (1 << PLAYER_FIELDS.length) - 1;
+
+    private final DebugMessageWriter writer;
+    private long seq = 0;
+    // Fields of each player in the last snapshot, in snapshot order
+    private Map<UUID, PlayerFields> lastPlayers = Map.of();
+    private byte[] lastConfig = null;
+
+    DebugStreamEncoder(DebugMessageWriter writer) {
+        this.writer = writer;
+    }
+
+    boolean isBinary() {
+        return writer.isBinary();
+    }
+
+    /**
+     * Encode the next snapshot as a delta against the previous one. The full snapshot is only written if asked for.
+     */
+    Update encode(RadiationDebugServer.DebugSnapshot snapshot) {
+        long baseSeq = seq++;
+        Map<UUID, PlayerFields> players = new LinkedHashMap<>();
+        for (RadiationDebugServer.PlayerDebugData player : snapshot.players()) {
+            players.put(player.uuid(), writePlayerFields(player));
+        }
+        byte[] config = writeConfig(snapshot.config(), snapshot.defaultShielding());
+        byte[] metrics = writeMetrics();
+
+        // Work out what changed first, since objects and arrays are written with their sizes
+        List<PlayerFields> changed = new ArrayList<>();
+        List<Integer> changedFields = new ArrayList<>();
+        for (Map.Entry<UUID, PlayerFields> entry : players.entrySet()) {
+            PlayerFields fields = entry.getValue();
+            PlayerFields previous = lastPlayers.get(entry.getKey());
+            int mask = previous == null ? ALL_FIELDS : fields.changedSince(previous);
+            if (mask != 0) {
+                changed.add(fields);
+                changedFields.add(mask | 1 << UUID_FIELD);
+            }
+        }
+        List<PlayerFields> removed = new ArrayList<>();
+        for (Map.Entry<UUID, PlayerFields> entry : lastPlayers.entrySet()) {
+            if (!players.containsKey(entry.getKey())) {
+                removed.add(entry.getValue());
+            }
+        }
+        boolean configChanged = !Arrays.equals(config, lastConfig);
+
+        writer.reset();
+        writer.beginObject(configChanged ? 9 : 8);
+        writeHeader(writer, "delta", seq, snapshot.timestamp());
+        writer.name("baseSeq");
+        writer.value(baseSeq);
+        writer.name("players");
+        writer.beginArray(changed.size());
+        for (int i = 0; i < changed.size(); i++) {
+            writePlayer(writer, changed.get(i), changedFields.get(i));
+        }
+        writer.endArray();
+        writer.name("removed");
+        writer.beginArray(removed.size());
+        for (PlayerFields player : removed) {
+            player.writeField(writer, UUID_FIELD);
+        }
+        writer.endArray();
+        if (configChanged) {
+            writer.name("config");
+            writer.raw(config);
+        }
+        writer.name("metrics");
+        writer.raw(metrics);
+        writer.endObject();
+
+        lastPlayers = players;
+        lastConfig = config;
+        return new Update(writer, seq, snapshot.timestamp(), writer.toByteArray(), List.copyOf(players.values()), config, metrics);
+    }
+
+    /**
+     * One snapshot's messages
+     */
+    static class Update implements DebugWebSocketServer.Broadcast {
+        final long seq;
+        private final DebugMessageWriter writer;
+        private final long timestamp;
+        private final byte[] delta;
+        private final List<PlayerFields> players;
+        private final byte[] config;
+        private final byte[] metrics;
+        private byte[] full = null;
+
+        private Update(DebugMessageWriter writer, long seq, long timestamp, byte[] delta,
+                       List<PlayerFields> players, byte[] config, byte[] metrics) {
+            this.writer = writer;
+            this.seq = seq;
+            this.timestamp = timestamp;
+            this.delta = delta;
+            this.players = players;
+            this.config = config;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public byte[] message() {
+            return delta;
+        }
+
+        /**
+         * @return The full snapshot, written the first time it's asked for
+         */
+        @Override
+        public byte[] keyframe() {
+            if (full == null) {
+                writer.reset();
+                writer.beginObject(7);
+                writeHeader(writer, "full", seq, timestamp);
+                writer.name("players");
+                writer.beginArray(players.size());
+                for (PlayerFields player : players) {
+                    writePlayer(writer, player, ALL_FIELDS);
+                }
+                writer.endArray();
+                writer.name("config");
+                writer.raw(config);
+                writer.name("metrics");
+                writer.raw(metrics);
+                writer.endObject();
+                full = writer.toByteArray();
+            }
+            return full;
+        }
+    }
+
+    /**
+     * A player's fields as written, one after the other, in the order of {@link #PLAYER_FIELDS}
+     */
+    private record PlayerFields(byte[] data, int[] ends) {
+
+        private int start(int field) {
+            return field == 0 ? 0 : ends[field - 1];
+        }
+
+        /**
+         * @return Bit mask of the fields whose bytes differ from the previous ones
+         */
+        int changedSince(PlayerFields previous) {
+            int mask = 0;
+            for (int i = 0; i < ends.length; i++) {
+                if (!Arrays.equals(data, start(i), ends[i], previous.data, previous.start(i), previous.ends[i])) {
+                    mask |= 1 << i;
+                }
+            }
+            return mask;
+        }
+
+        void writeField(DebugMessageWriter writer, int field) {
+            writer.raw(data, start(field), ends[field]);
+        }
+    }
+
+    private static void writeHeader(DebugMessageWriter writer, String type, long seq, long timestamp) {
+        writer.name("type");
+        writer.value(type);
+        writer.name("version");
+        writer.value(PROTOCOL_VERSION);
+        writer.name("seq");
+        writer.value(seq);
+        writer.name("timestamp");
+        writer.value(timestamp);
+    }
+
+    private static void writePlayer(DebugMessageWriter writer, PlayerFields player, int fields) {
+        writer.beginObject(Integer.bitCount(fields));
+        for (int i = 0; i < PLAYER_FIELDS.length; i++) {
+            if ((fields & 1 << i) != 0) {
+                writer.name(PLAYER_FIELDS[i]);
+                player.writeField(writer, i);
+            }
+        }
+        writer.endObject();
+    }
+
+    private PlayerFields writePlayerFields(RadiationDebugServer.PlayerDebugData player) {
+        int[] ends = new int[PLAYER_FIELDS.length];
+        int field = 0;
+        writer.reset();
+
+        writer.value(player.name());
+        ends[field++] = writer.position();
+        writer.value(player.uuid().toString());
+        ends[field++] = writer.position();
+        writePos(player.position());
+        ends[field++] = writer.position();
+        writer.value(player.dimension());
+        ends[field++] = writer.position();
+        writer.value(player.biome());
+        ends[field++] = writer.position();
+        writer.value(player.radiationLevel());
+        ends[field++] = writer.position();
+        writer.value(player.dynamicExposure(), 2);
+        ends[field++] = writer.position();
+        writer.value(player.hasRadResistance());
+        ends[field++] = writer.position();
+        writer.value(player.radResistanceAmplifier() + 1);
+        ends[field++] = writer.position();
+        writer.value(player.radResistanceDuration());
+        ends[field++] = writer.position();
+        writer.value(player.isInWater());
+        ends[field++] = writer.position();
+        writer.value(player.armorProtection(), 1);
+        ends[field++] = writer.position();
+        writeNearbyRadioactiveBlocks(player.nearbySources());
+        ends[field] = writer.position();
+
+        return new PlayerFields(writer.toByteArray(), ends);
+    }
+
+    private byte[] writeConfig(CompiledRadiationConfig config, double defaultShielding) {
+        writer.reset();
+        writer.beginObject(4);
+        writer.name("blockRadiationRange");
+        writer.value(config.blockRadiationRange());
+        writer.name("shieldingEnabled");
+        writer.value(config.shielding());
+        writer.name("defaultShielding");
+        writer.value(defaultShielding);
+        writer.name("shareRadiationField");
+        writer.value(config.shareRadiationField());
+        writer.endObject();
+        return writer.toByteArray();
+    }
+
+    private byte[] writeMetrics() {
+        writer.reset();
+        writer.beginObject(4);
+        writer.name("fieldCacheHits");
+        writer.value(RadiationMetrics.getFieldCacheHits());
+        writer.name("fieldCacheMisses");
+        writer.value(RadiationMetrics.getFieldCacheMisses());
+        writer.name("fieldCacheHitRate");
+        writer.value(RadiationMetrics.getFieldCacheHitRate(), 3);
+        writer.name("effectPacketsAvoided");
+        writer.value(RadiationMetrics.getEffectPacketsAvoided());
+        writer.endObject();
+        return writer.toByteArray();
+    }
+
+    private void writeNearbyRadioactiveBlocks(List<RadiationBlockScanner.SourceHit> sources) {
+        writer.beginArray(sources.size());
+        for (RadiationBlockScanner.SourceHit source : sources) {
+            writer.beginObject(5);
+            writer.name("block");
+            writer.value(BuiltInRegistries.BLOCK.getKey(source.block).toString());
+            writer.name("distance");
+            writer.value(source.distance, 1);
+            writer.name("pos");
+            writePos(source.pos);
+            writer.name("shielding");
+            writer.value(source.shielding * 100, 1);
+            writer.name("isShielded");
+            writer.value(source.shielding > 0.01f);
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private void writePos(BlockPos pos) {
+        writer.beginObject(3);
+        writer.name("x");
+        writer.value(pos.getX());
+        writer.name("y");
+        writer.value(pos.getY());
+        writer.name("z");
+        writer.value(pos.getZ());
+        writer.endObject();
+    }
+}
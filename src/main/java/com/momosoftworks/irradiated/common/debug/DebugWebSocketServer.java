@@ -0,0 +1,861 @@
+package com.momosoftworks.irradiated.common.debug;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * WebSocket server for the debug dashboard, serving every client from a single non-blocking selector thread.
+ *
+ * <p>Each client has its own queue of outgoing frames, written as fast as its socket accepts them.
+ * {@link #broadcast} only encodes a frame once and queues it, so it never blocks on a client. When a new
+ * broadcast is queued, any older ones the client hasn't started receiving are dropped, since the newer one
+ * supersedes them. A slow client therefore holds at most one frame in flight and one waiting. A client that
+ * hasn't accepted any data for {@link #STALL_TIMEOUT_NANOS} while frames are waiting is disconnected.</p>
+ *
+ * <p>Since a broadcast may only make sense on top of the previous one, each comes with a keyframe that
+ * doesn't depend on earlier ones. It's sent instead to clients that missed a broadcast this way, that just
+ * connected or that asked for one.</p>
+ *
+ * <p>Clients are sent text frames unless they offer the {@value #PROTOCOL_BINARY} subprotocol in their
+ * handshake, in which case they're sent binary frames with each broadcast's binary encoding. Clients that
+ * offer neither subprotocol still get text frames.</p>
+ *
+ * <p>Clients that offer permessage-deflate (RFC 7692) get their messages compressed, with context takeover
+ * unless they ask otherwise, so each message can refer back to earlier ones. Each client has its own
+ * {@link Deflater}, reused for every message. A message is only compressed when it starts being written,
+ * so broadcasts dropped from the queue never enter the compression context.</p>
+ *
+ * <p>Implements the parts of RFC 6455 the dashboard needs: the opening handshake, text messages (which may be
+ * fragmented), ping, pong and close.</p>
+ */
+class DebugWebSocketServer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DebugWebSocketServer.class);
+
+    private static final String ACCEPT_MAGIC = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    // Subprotocols a client may offer in Sec-WebSocket-Protocol to choose the encoding of broadcasts
+    static final String PROTOCOL_TEXT = "irradiated.json";
+    static final String PROTOCOL_BINARY = "irradiated.msgpack";
+
+    private static final int OPCODE_CONTINUATION = 0x0;
+    private static final int OPCODE_TEXT = 0x1;
+    private static final int OPCODE_BINARY = 0x2;
+    private static final int OPCODE_CLOSE = 0x8;
+    private static final int OPCODE_PING = 0x9;
+    private static final int OPCODE_PONG = 0xA;
+    // Marks a compressed message in its first frame
+    private static final int RSV1 = 0x40;
+    private static final int RSV2_RSV3 = 0x30;
+
+    private static final int CLOSE_NORMAL = 1000;
+    private static final int CLOSE_PROTOCOL_ERROR = 1002;
+    private static final int CLOSE_UNSUPPORTED_DATA = 1003;
+    private static final int CLOSE_INVALID_DATA = 1007;
+    private static final int CLOSE_TOO_BIG = 1009;
+
+    // Largest handshake request and incoming message accepted; the dashboard only sends small commands
+    private static final int MAX_HANDSHAKE_SIZE = 8 * 1024;
+    private static final int MAX_MESSAGE_SIZE = 64 * 1024;
+    // Ends the output of a sync flush; dropped from compressed messages and added back before inflating them
+    private static final byte[] DEFLATE_TAIL = {0x00, 0x00, (byte) 0xFF, (byte) 0xFF};
+    // Largest frame header: 2 bytes, 8 bytes of length and a 4 byte mask
+    private static final int MAX_FRAME_HEADER_SIZE = 14;
+    // How long a client may accept no data while frames are waiting before it is disconnected
+    private static final long STALL_TIMEOUT_NANOS = 30_000_000_000L;
+
+    private final InetSocketAddress address;
+    private final BiConsumer<Connection, String> messageHandler;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    // Connections with newly queued frames, for the selector thread to start writing
+    private final Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread thread;
+    private volatile boolean running = false;
+
+    /**
+     * @param messageHandler Receives every text message sent by a client, on the selector thread
+     */
+    DebugWebSocketServer(InetSocketAddress address, BiConsumer<Connection, String> messageHandler) {
+        this.address = address;
+        this.messageHandler = messageHandler;
+    }
+
+    void start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.configureBlocking(false);
+            serverChannel.bind(address, 50);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+
+        running = true;
+        thread = new Thread(this::run, "Irradiated Debug WebSocket");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        if (thread != null) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    boolean hasConnections() {
+        return !connections.isEmpty();
+    }
+
+    /**
+     * @return Whether any client wants broadcasts in binary, or in text
+     */
+    boolean hasConnections(boolean binary) {
+        for (Connection connection : connections) {
+            if (connection.binary == binary) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queue a broadcast for every connected client, replacing any earlier broadcast it hasn't started receiving.
+     * Clients that need a keyframe are sent that instead.
+     * @param text The broadcast in text, or null to skip clients that want text
+     * @param binary The broadcast in binary, or null to skip clients that want binary
+     * @return Number of clients the broadcast was queued for
+     */
+    int broadcast(Broadcast text, Broadcast binary) {
+        if (connections.isEmpty()) {
+            return 0;
+        }
+        BroadcastFrames textFrames = text != null ? new BroadcastFrames(OPCODE_TEXT, text) : null;
+        BroadcastFrames binaryFrames = binary != null ? new BroadcastFrames(OPCODE_BINARY, binary) : null;
+
+        int queued = 0;
+        for (Connection connection : connections) {
+            BroadcastFrames frames = connection.binary ? binaryFrames : textFrames;
+            if (connection.open && frames != null) {
+                connection.queueBroadcast(frames);
+                queued++;
+            }
+        }
+        selector.wakeup();
+        return queued;
+    }
+
+    /**
+     * One broadcast's payloads in one encoding
+     */
+    interface Broadcast {
+        byte[] message();
+
+        /**
+         * @return Payload that doesn't depend on earlier broadcasts. Only asked for if some client needs it.
+         */
+        byte[] keyframe();
+    }
+
+    private void run() {
+        LOGGER.info("WebSocket server listening on {}", address);
+        try {
+            while (running) {
+                selector.select(1000);
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.write();
+                        }
+                    } catch (IOException e) {
+                        if (key.attachment() instanceof Connection connection) {
+                            LOGGER.debug("WebSocket client {} failed: {}", connection.remoteAddress, e.getMessage());
+                            connection.close();
+                        }
+                    }
+                }
+
+                // Start writing frames queued by other threads
+                Connection connection;
+                while ((connection = pendingWrites.poll()) != null) {
+                    try {
+                        connection.write();
+                    } catch (IOException e) {
+                        LOGGER.debug("WebSocket client {} failed: {}", connection.remoteAddress, e.getMessage());
+                        connection.close();
+                    }
+                }
+
+                long now = System.nanoTime();
+                for (SelectionKey key : selector.keys()) {
+                    if (key.attachment() instanceof Connection stalled && stalled.isStalled(now)) {
+                        LOGGER.warn("WebSocket client {} stopped receiving data, disconnecting", stalled.remoteAddress);
+                        stalled.close();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                LOGGER.error("WebSocket server stopped unexpectedly", e);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+            LOGGER.info("WebSocket server stopped");
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true); // Disable Nagle's algorithm for lower latency
+        channel.socket().setKeepAlive(true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Connection(channel, key));
+    }
+
+    /**
+     * Encode a single unmasked frame with the FIN bit set
+     */
+    static ByteBuffer encodeFrame(int opcode, byte[] payload) {
+        return encodeFrame(opcode, false, payload, payload.length);
+    }
+
+    /**
+     * Encode a single unmasked frame with the FIN bit set
+     * @param compressed Whether the payload is compressed, marked with the RSV1 bit
+     * @param length Number of bytes of the payload to use
+     */
+    static ByteBuffer encodeFrame(int opcode, boolean compressed, byte[] payload, int length) {
+        int headerLength = length <= 125 ? 2 : length <= 65535 ? 4 : 10;
+        ByteBuffer frame = ByteBuffer.allocate(headerLength + length);
+        frame.put((byte) (0x80 | (compressed ? RSV1 : 0) | opcode));
+        if (length <= 125) {
+            frame.put((byte) length);
+        } else if (length <= 65535) {
+            frame.put((byte) 126);
+            frame.putShort((short) length);
+        } else {
+            frame.put((byte) 127);
+            frame.putLong(length);
+        }
+        frame.put(payload, 0, length);
+        return frame.flip();
+    }
+
+    private static String generateAcceptKey(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return Base64.getEncoder().encodeToString(digest.digest((key + ACCEPT_MAGIC).getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    /**
+     * A single client. Reading and writing happen on the selector thread; frames may be queued from any thread.
+     */
+    class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final String remoteAddress;
+        private ByteBuffer readBuffer = ByteBuffer.allocate(1024);
+        private final ArrayDeque<OutboundFrame> outbound = new ArrayDeque<>();
+        private long lastProgress = System.nanoTime(); // When data was last written or the queue was last empty
+        private volatile boolean open = false;         // Handshake done and no close sent
+        private boolean connected = false;             // Handshake done
+        private boolean closeAfterWrite = false;
+        private boolean closed = false;
+        private boolean needsKeyframe = true;
+        private boolean binary = false;                // Negotiated in the handshake
+        // Fragmented message being received
+        private ByteArrayOutputStream fragments = null;
+        private boolean fragmentsCompressed = false;
+        // Set if permessage-deflate was negotiated
+        private Deflater deflater = null;
+        private Inflater inflater = null;
+        private boolean deflateContextTakeover = true;
+        private byte[] deflateBuffer = null;
+
+        Connection(SocketChannel channel, SelectionKey key) throws IOException {
+            this.channel = channel;
+            this.key = key;
+            this.remoteAddress = String.valueOf(channel.getRemoteAddress());
+        }
+
+        /**
+         * Send the next broadcast a keyframe
+         */
+        synchronized void requestKeyframe() {
+            needsKeyframe = true;
+        }
+
+        /**
+         * Queue a broadcast frame, replacing any broadcast frames not yet being written.
+         * If one is replaced, the client is sent the keyframe instead, since it missed a broadcast.
+         */
+        void queueBroadcast(BroadcastFrames frames) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                Iterator<OutboundFrame> iterator = outbound.iterator();
+                while (iterator.hasNext()) {
+                    OutboundFrame queued = iterator.next();
+                    // A frame that's partly written has to be finished
+                    if (queued.broadcast && !queued.started) {
+                        iterator.remove();
+                        needsKeyframe = true;
+                    }
+                }
+                if (deflater != null) {
+                    // Compressed for this client once it starts being written
+                    add(new OutboundFrame(frames.opcode, needsKeyframe ? frames.keyframe() : frames.message));
+                } else {
+                    // Each client reads the shared frame through its own position
+                    add(new OutboundFrame((needsKeyframe ? frames.keyframeFrame() : frames.messageFrame()).duplicate(), true));
+                }
+                needsKeyframe = false;
+            }
+            pendingWrites.add(this);
+        }
+
+        /**
+         * Queue a frame for sending after everything already queued
+         */
+        void queue(ByteBuffer frame) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                add(new OutboundFrame(frame, false));
+            }
+            pendingWrites.add(this);
+        }
+
+        private void add(OutboundFrame frame) {
+            if (outbound.isEmpty()) {
+                lastProgress = System.nanoTime();
+            }
+            outbound.add(frame);
+        }
+
+        void read() throws IOException {
+            if (!readBuffer.hasRemaining()) {
+                grow();
+            }
+            int read = channel.read(readBuffer);
+            if (read == -1) {
+                close();
+                return;
+            }
+
+            readBuffer.flip();
+            if (closeAfterWrite) {
+                // Closing, ignore anything else the client sends
+                readBuffer.position(readBuffer.limit());
+            } else if (open) {
+                readFrames();
+            } else {
+                readHandshake();
+            }
+            readBuffer.compact();
+        }
+
+        private void readHandshake() throws IOException {
+            String request = StandardCharsets.ISO_8859_1.decode(readBuffer.duplicate()).toString();
+            int end = request.indexOf("\r\n\r\n");
+            if (end == -1) {
+                if (readBuffer.remaining() > MAX_HANDSHAKE_SIZE) {
+                    rejectHandshake("431 Request Header Fields Too Large");
+                }
+                return;
+            }
+            readBuffer.position(readBuffer.position() + end + 4);
+
+            Map<String, String> headers = new HashMap<>();
+            String[] lines = request.substring(0, end).split("\r\n");
+            for (int i = 1; i < lines.length; i++) {
+                int colon = lines[i].indexOf(':');
+                if (colon > 0) {
+                    // Repeated headers are the same as one with a comma separated list
+                    headers.merge(lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT), lines[i].substring(colon + 1).trim(),
+                            (a, b) -> a + ", " + b);
+                }
+            }
+
+            String webSocketKey = headers.get("sec-websocket-key");
+            if (!lines[0].startsWith("GET ") || webSocketKey == null) {
+                rejectHandshake("400 Bad Request");
+                return;
+            }
+
+            // Pick the encoding from the subprotocols offered, binary first
+            String protocol = null;
+            List<String> offered = headers.containsKey("sec-websocket-protocol")
+                    ? Arrays.stream(headers.get("sec-websocket-protocol").split(",")).map(String::trim).toList()
+                    : List.of();
+            if (offered.contains(PROTOCOL_BINARY)) {
+                protocol = PROTOCOL_BINARY;
+                binary = true;
+            } else if (offered.contains(PROTOCOL_TEXT)) {
+                protocol = PROTOCOL_TEXT;
+            }
+
+            String extensions = headers.containsKey("sec-websocket-extensions")
+                    ? negotiateDeflate(headers.get("sec-websocket-extensions"))
+                    : null;
+
+            String response = "HTTP/1.1 101 Switching Protocols\r\n" +
+                    "Upgrade: websocket\r\n" +
+                    "Connection: Upgrade\r\n" +
+                    (protocol != null ? "Sec-WebSocket-Protocol: " + protocol + "\r\n" : "") +
+                    (extensions != null ? "Sec-WebSocket-Extensions: " + extensions + "\r\n" : "") +
+                    "Sec-WebSocket-Accept: " + generateAcceptKey(webSocketKey) + "\r\n\r\n";
+            queue(ByteBuffer.wrap(response.getBytes(StandardCharsets.ISO_8859_1)));
+            open = true;
+            connected = true;
+            connections.add(this);
+            LOGGER.info("WebSocket client connected: {}{}{}", remoteAddress, binary ? " (binary)" : "",
+                    deflater != null ? " (compressed)" : "");
+
+            // The client may have sent frames right after the handshake
+            readFrames();
+        }
+
+        /**
+         * Accept the first permessage-deflate offer whose parameters can be honoured
+         * @return Value of the response's extensions header, or null to use no extensions
+         */
+        private String negotiateDeflate(String header) {
+            for (String offer : header.split(",")) {
+                String[] params = offer.split(";");
+                if (!params[0].trim().equalsIgnoreCase("permessage-deflate")) {
+                    continue;
+                }
+
+                boolean noContextTakeover = false;
+                boolean usable = true;
+                for (int i = 1; i < params.length; i++) {
+                    String[] param = params[i].split("=", 2);
+                    String value = param.length > 1 ? param[1].trim().replace("\"", "") : null;
+                    switch (param[0].trim().toLowerCase(Locale.ROOT)) {
+                        case "server_no_context_takeover" -> noContextTakeover = true;
+                        // The inflater handles any window size, with or without context takeover
+                        case "client_no_context_takeover", "client_max_window_bits" -> {
+                        }
+                        // Deflater always uses the largest window
+                        case "server_max_window_bits" -> usable &= "15".equals(value);
+                        default -> usable = false;
+                    }
+                }
+                if (usable) {
+                    deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                    inflater = new Inflater(true);
+                    deflateContextTakeover = !noContextTakeover;
+                    return noContextTakeover ? "permessage-deflate; server_no_context_takeover" : "permessage-deflate";
+                }
+            }
+            return null;
+        }
+
+        private void rejectHandshake(String status) {
+            LOGGER.warn("WebSocket handshake failed for {}: {}", remoteAddress, status);
+            String response = "HTTP/1.1 " + status + "\r\nConnection: close\r\nContent-Length: 0\r\n\r\n";
+            queue(ByteBuffer.wrap(response.getBytes(StandardCharsets.ISO_8859_1)));
+            closeAfterWrite = true;
+            readBuffer.position(readBuffer.limit());
+        }
+
+        /**
+         * Handle every complete frame in the read buffer, leaving a partial frame for the next read
+         */
+        private void readFrames() throws IOException {
+            while (readBuffer.remaining() >= 2 && !closed) {
+                int start = readBuffer.position();
+                int first = readBuffer.get(start) & 0xFF;
+                int second = readBuffer.get(start + 1) & 0xFF;
+                boolean fin = (first & 0x80) != 0;
+                boolean compressed = (first & RSV1) != 0;
+                int opcode = first & 0x0F;
+                boolean masked = (second & 0x80) != 0;
+                long length = second & 0x7F;
+
+                int headerLength = 2;
+                if (length == 126) {
+                    headerLength += 2;
+                } else if (length == 127) {
+                    headerLength += 8;
+                }
+                headerLength += masked ? 4 : 0;
+                if (readBuffer.remaining() < headerLength) {
+                    return;
+                }
+                if (length == 126) {
+                    length = readBuffer.getShort(start + 2) & 0xFFFF;
+                } else if (length == 127) {
+                    length = readBuffer.getLong(start + 2);
+                }
+
+                if (!masked) {
+                    // Clients must mask every frame
+                    fail(CLOSE_PROTOCOL_ERROR, "Unmasked frame");
+                    return;
+                }
+                // Only the first frame of a message may be marked compressed, and only if compression was negotiated
+                if ((first & RSV2_RSV3) != 0 || compressed && (inflater == null || opcode != OPCODE_TEXT)) {
+                    fail(CLOSE_PROTOCOL_ERROR, "Unexpected reserved bits");
+                    return;
+                }
+                if (length < 0 || length > MAX_MESSAGE_SIZE) {
+                    fail(CLOSE_TOO_BIG, "Message too big");
+                    return;
+                }
+                if (readBuffer.remaining() < headerLength + length) {
+                    // Wait for the rest; the buffer grows once it's full
+                    return;
+                }
+
+                byte[] payload = new byte[(int) length];
+                int maskOffset = start + headerLength - 4;
+                readBuffer.position(start + headerLength);
+                readBuffer.get(payload);
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= readBuffer.get(maskOffset + (i & 3));
+                }
+
+                handleFrame(fin, compressed, opcode, payload);
+            }
+        }
+
+        private void handleFrame(boolean fin, boolean compressed, int opcode, byte[] payload) throws IOException {
+            switch (opcode) {
+                case OPCODE_TEXT, OPCODE_CONTINUATION -> {
+                    if ((opcode == OPCODE_TEXT && fragments != null) || (opcode == OPCODE_CONTINUATION && fragments == null)) {
+                        fail(CLOSE_PROTOCOL_ERROR, "Unexpected fragment");
+                        return;
+                    }
+                    if (fin && fragments == null) {
+                        handleMessage(compressed, payload);
+                        return;
+                    }
+                    if (fragments == null) {
+                        fragments = new ByteArrayOutputStream();
+                        fragmentsCompressed = compressed;
+                    }
+                    if (fragments.size() + payload.length > MAX_MESSAGE_SIZE) {
+                        fail(CLOSE_TOO_BIG, "Message too big");
+                        return;
+                    }
+                    fragments.write(payload);
+                    if (fin) {
+                        byte[] message = fragments.toByteArray();
+                        fragments = null;
+                        handleMessage(fragmentsCompressed, message);
+                    }
+                }
+                case OPCODE_BINARY -> fail(CLOSE_UNSUPPORTED_DATA, "Binary messages are not supported");
+                case OPCODE_PING -> queue(encodeFrame(OPCODE_PONG, payload));
+                case OPCODE_PONG -> {
+                    // Nothing to do
+                }
+                case OPCODE_CLOSE -> {
+                    if (open) {
+                        // Echo the status code back and close once it's sent
+                        sendClose(payload.length >= 2 ? ((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF) : CLOSE_NORMAL);
+                    } else {
+                        close();
+                    }
+                }
+                default -> fail(CLOSE_PROTOCOL_ERROR, "Unknown opcode " + opcode);
+            }
+        }
+
+        private void handleMessage(boolean compressed, byte[] payload) {
+            if (compressed) {
+                try {
+                    payload = inflate(payload);
+                } catch (DataFormatException e) {
+                    fail(CLOSE_INVALID_DATA, "Invalid compressed data");
+                    return;
+                }
+                if (payload == null) {
+                    fail(CLOSE_TOO_BIG, "Message too big");
+                    return;
+                }
+            }
+            messageHandler.accept(this, new String(payload, StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @return The inflated message, or null if it's larger than {@link #MAX_MESSAGE_SIZE}
+         */
+        private byte[] inflate(byte[] payload) throws DataFormatException {
+            byte[] input = Arrays.copyOf(payload, payload.length + DEFLATE_TAIL.length);
+            System.arraycopy(DEFLATE_TAIL, 0, input, payload.length, DEFLATE_TAIL.length);
+            inflater.setInput(input);
+
+            ByteArrayOutputStream message = new ByteArrayOutputStream();
+            byte[] chunk = new byte[4096];
+            int inflated;
+            // Stops making progress once all input is used
+            while ((inflated = inflater.inflate(chunk)) > 0) {
+                message.write(chunk, 0, inflated);
+                if (message.size() > MAX_MESSAGE_SIZE) {
+                    return null;
+                }
+            }
+            if (inflater.finished()) {
+                // The client ended the stream, the next message starts a new one
+                inflater.reset();
+            }
+            return message.toByteArray();
+        }
+
+        /**
+         * Compress a message with a sync flush, continuing from the previous messages' context
+         */
+        private ByteBuffer deflate(int opcode, byte[] payload) {
+            if (deflateBuffer == null || deflateBuffer.length < payload.length / 2 + 64) {
+                deflateBuffer = new byte[payload.length / 2 + 64];
+            }
+            deflater.setInput(payload);
+            int length = 0;
+            while (true) {
+                length += deflater.deflate(deflateBuffer, length, deflateBuffer.length - length, Deflater.SYNC_FLUSH);
+                if (length < deflateBuffer.length) {
+                    break;
+                }
+                // Filled the buffer, there may be more
+                deflateBuffer = Arrays.copyOf(deflateBuffer, deflateBuffer.length * 2);
+            }
+            if (!deflateContextTakeover) {
+                deflater.reset();
+            }
+            return encodeFrame(opcode, true, deflateBuffer, length - DEFLATE_TAIL.length);
+        }
+
+        private void fail(int status, String reason) {
+            LOGGER.debug("Closing WebSocket client {}: {}", remoteAddress, reason);
+            sendClose(status);
+            readBuffer.position(readBuffer.limit());
+        }
+
+        private void sendClose(int status) {
+            open = false;
+            connections.remove(this);
+            queue(encodeFrame(OPCODE_CLOSE, new byte[]{(byte) (status >> 8), (byte) status}));
+            closeAfterWrite = true;
+        }
+
+        /**
+         * Write queued frames until the socket stops accepting data, then wait for it to become writable
+         */
+        void write() throws IOException {
+            synchronized (this) {
+                while (!outbound.isEmpty() && !closed) {
+                    OutboundFrame frame = outbound.peek();
+                    if (frame.data == null) {
+                        frame.data = deflate(frame.opcode, frame.payload);
+                        frame.started = true;
+                    }
+                    int written = channel.write(frame.data);
+                    if (written > 0) {
+                        frame.started = true;
+                        lastProgress = System.nanoTime();
+                    }
+                    if (frame.data.hasRemaining()) {
+                        break;
+                    }
+                    outbound.poll();
+                }
+                if (closed) {
+                    return;
+                }
+                if (outbound.isEmpty()) {
+                    if (closeAfterWrite) {
+                        close();
+                        return;
+                    }
+                    key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+
+        synchronized boolean isStalled(long now) {
+            return !closed && !outbound.isEmpty() && now - lastProgress > STALL_TIMEOUT_NANOS;
+        }
+
+        /**
+         * Double the read buffer, up to the size of the largest allowed frame
+         */
+        private void grow() throws IOException {
+            int maxCapacity = MAX_MESSAGE_SIZE + MAX_FRAME_HEADER_SIZE;
+            if (readBuffer.capacity() >= maxCapacity) {
+                throw new IOException("Read buffer limit exceeded");
+            }
+            ByteBuffer larger = ByteBuffer.allocate(Math.min(readBuffer.capacity() * 2, maxCapacity));
+            readBuffer.flip();
+            larger.put(readBuffer);
+            readBuffer = larger;
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                outbound.clear();
+                if (deflater != null) {
+                    // Free their native memory now rather than when they're collected
+                    deflater.end();
+                    inflater.end();
+                }
+            }
+            open = false;
+            connections.remove(this);
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+            if (connected) {
+                LOGGER.info("WebSocket client disconnected: {}", remoteAddress);
+            }
+        }
+    }
+
+    /**
+     * Payloads of one broadcast and their uncompressed frames, each encoded once and shared by every client
+     */
+    private static class BroadcastFrames {
+        final int opcode;
+        final byte[] message;
+        private final Broadcast broadcast;
+        private byte[] keyframe = null;
+        private ByteBuffer messageFrame = null;
+        private ByteBuffer keyframeFrame = null;
+
+        BroadcastFrames(int opcode, Broadcast broadcast) {
+            this.opcode = opcode;
+            this.broadcast = broadcast;
+            this.message = broadcast.message();
+        }
+
+        // Called by the broadcasting thread only
+        byte[] keyframe() {
+            if (keyframe == null) {
+                keyframe = broadcast.keyframe();
+            }
+            return keyframe;
+        }
+
+        ByteBuffer messageFrame() {
+            if (messageFrame == null) {
+                messageFrame = encodeFrame(opcode, message);
+            }
+            return messageFrame;
+        }
+
+        ByteBuffer keyframeFrame() {
+            if (keyframeFrame == null) {
+                keyframeFrame = encodeFrame(opcode, keyframe());
+            }
+            return keyframeFrame;
+        }
+    }
+
+    private static class OutboundFrame {
+        ByteBuffer data;          // Null until a message to compress starts being written
+        final int opcode;
+        final byte[] payload;     // Message to compress
+        final boolean broadcast;  // Replaced by newer broadcasts until it starts being written
+        boolean started = false;
+
+        OutboundFrame(ByteBuffer data, boolean broadcast) {
+            this.data = data;
+            this.opcode = 0;
+            this.payload = null;
+            this.broadcast = broadcast;
+        }
+
+        /**
+         * A broadcast to compress once it starts being written
+         */
+        OutboundFrame(int opcode, byte[] payload) {
+            this.data = null;
+            this.opcode = opcode;
+            this.payload = payload;
+            this.broadcast = true;
+        }
+    }
+}
@@ -1,45 +1,59 @@
 package com.momosoftworks.irradiated.common.debug;
 
 import com.momosoftworks.irradiated.api.radiation.RadiationAPI;
+import com.momosoftworks.irradiated.common.jfr.DebugBroadcastEvent;
+import com.momosoftworks.irradiated.common.radiation.CompiledRadiationConfig;
 import com.momosoftworks.irradiated.common.radiation.DynamicRadiationHandler;
+import com.momosoftworks.irradiated.common.radiation.RadiationBlockScanner;
 import com.momosoftworks.irradiated.common.radiation.RadiationConfig;
 import com.momosoftworks.irradiated.core.init.ModEffects;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.biome.Biome;
-import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.util.*;
 import java.util.concurrent.*;
 
 public class RadiationDebugServer {
     private static final Logger LOGGER = LoggerFactory.getLogger(RadiationDebugServer.class);
 
+    // Players collected per tick while building a snapshot
+    private static final int SNAPSHOT_PLAYERS_PER_TICK = 20;
+    // Nearby radioactive blocks reported per player
+    private static final int MAX_REPORTED_SOURCES = 20;
+
     private static RadiationDebugServer instance;
     private HttpServer httpServer;
-    private ServerSocket webSocketServerSocket;
-    private final List<WebSocketClient> webSocketClients = new CopyOnWriteArrayList<>();
+    private DebugWebSocketServer webSocketServer;
     private ScheduledExecutorService scheduler;
-    private ExecutorService webSocketExecutor;
     private MinecraftServer minecraftServer;
     private volatile boolean running = false;
 
+    // Built on the server thread, serialized by the broadcaster
+    private volatile DebugSnapshot snapshot = null;
+    private DebugSnapshot lastBroadcast = null;
+    // Only used by clients that want each encoding, each keeping its own state to diff against
+    private DebugStreamEncoder textEncoder = new DebugStreamEncoder(new DebugMessageWriter.Json());
+    private DebugStreamEncoder binaryEncoder = new DebugStreamEncoder(new DebugMessageWriter.MessagePack());
+    // Snapshot being collected over several ticks (server thread only)
+    private List<ServerPlayer> pendingPlayers = null;
+    private List<PlayerDebugData> pendingData = null;
+    private long pendingTimestamp = 0;
+    private int snapshotIntervalTicks = 1;
+    private int ticksUntilSnapshot = 0;
+
     private RadiationDebugServer() {
     }
 
@@ -83,15 +97,16 @@ public class RadiationDebugServer {
                 // Auto-assign: HTTP port + 1
                 wsPort = port + 1;
             }
-            webSocketExecutor = Executors.newCachedThreadPool();
-            webSocketServerSocket = new ServerSocket(wsPort, 50, java.net.InetAddress.getByName(bindAddress));
-            LOGGER.info("WebSocket ServerSocket created and bound to {}:{}", bindAddress, wsPort);
-            webSocketExecutor.submit(this::acceptWebSocketConnections);
-            LOGGER.info("WebSocket acceptor thread submitted");
+            webSocketServer = new DebugWebSocketServer(new InetSocketAddress(bindAddress, wsPort), this::handleWebSocketCommand);
+            webSocketServer.start();
 
-            // Start broadcast scheduler
+            // Start broadcast scheduler; snapshots are taken on the server thread at the same rate
             scheduler = Executors.newSingleThreadScheduledExecutor();
             int intervalMs = RadiationConfig.DEBUG_UPDATE_INTERVAL_MS.get();
+            snapshotIntervalTicks = Math.max(1, intervalMs / 50);
+            ticksUntilSnapshot = 0;
+            textEncoder = new DebugStreamEncoder(new DebugMessageWriter.Json());
+            binaryEncoder = new DebugStreamEncoder(new DebugMessageWriter.MessagePack());
             scheduler.scheduleAtFixedRate(this::broadcastRadiationData, 0, intervalMs, TimeUnit.MILLISECONDS);
             LOGGER.warn("===========================================");
             LOGGER.warn("RADIATION DEBUG SERVER STARTED");
@@ -126,75 +141,21 @@ public class RadiationDebugServer {
             httpServer = null;
         }
 
-        // Close all WebSocket clients
-        for (WebSocketClient client : webSocketClients) {
-            client.close();
-        }
-        webSocketClients.clear();
-
-        if (webSocketServerSocket != null) {
-            try {
-                webSocketServerSocket.close();
-            } catch (IOException e) {
-                // Ignore
-            }
-            webSocketServerSocket = null;
-        }
+        snapshot = null;
+        lastBroadcast = null;
+        pendingPlayers = null;
+        pendingData = null;
 
-        if (webSocketExecutor != null) {
-            webSocketExecutor.shutdownNow();
-            webSocketExecutor = null;
+        // Closes all WebSocket clients
+        if (webSocketServer != null) {
+            webSocketServer.stop();
+            webSocketServer = null;
         }
 
         LOGGER.info("Debug server stopped");
     }
 
-    private void acceptWebSocketConnections() {
-        LOGGER.info("WebSocket acceptor thread started, waiting for connections...");
-        while (running && webSocketServerSocket != null && !webSocketServerSocket.isClosed()) {
-            try {
-                LOGGER.debug("Waiting for WebSocket connection on accept()...");
-                Socket clientSocket = webSocketServerSocket.accept();
-                LOGGER.info("WebSocket connection accepted from: {}", clientSocket.getRemoteSocketAddress());
-                WebSocketClient client = new WebSocketClient(clientSocket);
-                if (client.performHandshake()) {
-                    webSocketClients.add(client);
-                    webSocketExecutor.submit(() -> handleWebSocketClient(client));
-                    LOGGER.info("WebSocket client connected successfully: {}", clientSocket.getRemoteSocketAddress());
-                } else {
-                    LOGGER.warn("WebSocket handshake failed for: {}", clientSocket.getRemoteSocketAddress());
-                }
-            } catch (IOException e) {
-                if (running) {
-                    LOGGER.error("Error accepting WebSocket connection", e);
-                }
-            }
-        }
-        LOGGER.info("WebSocket acceptor thread exiting - running:{} socket:{}",
-                running, webSocketServerSocket != null ? (!webSocketServerSocket.isClosed()) : "null");
-    }
-
-    private void handleWebSocketClient(WebSocketClient client) {
-        try {
-            LOGGER.info("Starting WebSocket message loop for client");
-            while (running && client.isConnected()) {
-                String message = client.readMessage();
-                if (message != null) {
-                    LOGGER.debug("Received WebSocket message: {}", message);
-                    handleWebSocketCommand(client, message);
-                }
-            }
-            LOGGER.info("WebSocket message loop ended - running:{} connected:{}", running, client.isConnected());
-        } catch (Exception e) {
-            LOGGER.warn("WebSocket client exception: {}", e.getMessage());
-        } finally {
-            webSocketClients.remove(client);
-            client.close();
-            LOGGER.info("WebSocket client disconnected");
-        }
-    }
-
-    private void handleWebSocketCommand(WebSocketClient client, String message) {
+    private void handleWebSocketCommand(DebugWebSocketServer.Connection connection, String message) {
         try {
             // Ignore empty keepalive pings
             if (message == null || message.trim().isEmpty()) {
@@ -203,7 +164,10 @@ public class RadiationDebugServer {
 
             if (message.startsWith("{")) {
                 // JSON command
-                if (message.contains("\"action\":\"set\"")) {
+                if (message.contains("\"action\":\"resync\"")) {
+                    // The client missed an update, send it a full snapshot next
+                    connection.requestKeyframe();
+                } else if (message.contains("\"action\":\"set\"")) {
                     String playerName = extractJsonString(message, "player");
                     int level = extractJsonInt(message, "level");
                     executeOnServer(() -> {
@@ -288,113 +252,105 @@ public class RadiationDebugServer {
     }
 
     private void broadcastRadiationData() {
-        if (!running || webSocketClients.isEmpty() || minecraftServer == null) {
+        // Only send snapshots the clients haven't seen yet
+        DebugSnapshot current = snapshot;
+        DebugWebSocketServer server = webSocketServer;
+        if (!running || server == null || !server.hasConnections() || current == null || current == lastBroadcast) {
             return;
         }
+        lastBroadcast = current;
 
+        DebugBroadcastEvent event = new DebugBroadcastEvent();
+        event.begin();
         try {
-            String json = buildRadiationDataJson();
-            int successCount = 0;
-            java.util.List<WebSocketClient> disconnected = new java.util.ArrayList<>();
-
-            for (WebSocketClient client : webSocketClients) {
-                try {
-                    if (!client.isConnected()) {
-                        disconnected.add(client);
-                        continue;
-                    }
-                    client.sendMessage(json);
-                    successCount++;
-                } catch (Exception e) {
-                    LOGGER.warn("Failed to send to WebSocket client: {}", e.getMessage());
-                    disconnected.add(client);
-                }
-            }
-
-            // Remove disconnected clients
-            for (WebSocketClient client : disconnected) {
-                webSocketClients.remove(client);
-                client.close();
-            }
+            // Clients get what changed since the last snapshot, or the full snapshot if they need it.
+            // An encoding nobody wants isn't written; a client that starts wanting it gets a full snapshot anyway.
+            DebugStreamEncoder.Update text = server.hasConnections(false) ? textEncoder.encode(current) : null;
+            DebugStreamEncoder.Update binary = server.hasConnections(true) ? binaryEncoder.encode(current) : null;
+            // Queued for each client, the selector thread does the writing
+            int successCount = server.broadcast(text, binary);
 
             if (successCount > 0) {
                 LOGGER.debug("Broadcast radiation data to {} clients", successCount);
             }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.players = current.players().size();
+                event.clients = successCount;
+                event.textBytes = text != null ? text.message().length : 0;
+                event.binaryBytes = binary != null ? binary.message().length : 0;
+                event.commit();
+            }
         } catch (Exception e) {
             LOGGER.error("Error broadcasting radiation data", e);
         }
     }
 
-    private String buildRadiationDataJson() {
-        StringBuilder json = new StringBuilder();
-        json.append("{\"timestamp\":").append(System.currentTimeMillis());
-        json.append(",\"players\":[");
-
-        List<ServerPlayer> players = minecraftServer.getPlayerList().getPlayers();
-        boolean first = true;
-
-        for (ServerPlayer player : players) {
-            if (!first)
-                json.append(",");
-            first = false;
-
-            json.append("{");
-            json.append("\"name\":\"").append(escapeJson(player.getName().getString())).append("\"");
-            json.append(",\"uuid\":\"").append(player.getUUID()).append("\"");
-
-            // Position
-            BlockPos pos = player.blockPosition();
-            json.append(",\"position\":{\"x\":").append(pos.getX());
-            json.append(",\"y\":").append(pos.getY());
-            json.append(",\"z\":").append(pos.getZ()).append("}");
-
-            // Dimension
-            json.append(",\"dimension\":\"").append(player.level().dimension().location()).append("\"");
-
-            // Biome
-            String biomeName = getBiomeName(player);
-            json.append(",\"biome\":\"").append(escapeJson(biomeName)).append("\"");
-
-            // Radiation data
-            int radiationLevel = RadiationAPI.getRadiationLevel(player);
-            float dynamicExposure = DynamicRadiationHandler.getCurrentRadiationExposure(player);
-
-            json.append(",\"radiationLevel\":").append(radiationLevel);
-            json.append(",\"dynamicExposure\":").append(String.format(java.util.Locale.US, "%.2f", dynamicExposure));
-
-            // Effects and Protection
-            boolean hasRadResistance = player.hasEffect(ModEffects.radResistanceHolder());
-            int radResistanceAmplifier = 0;
-            int radResistanceDuration = 0;
-            if (hasRadResistance) {
-                var effect = player.getEffect(ModEffects.radResistanceHolder());
-                if (effect != null) {
-                    radResistanceAmplifier = effect.getAmplifier();
-                    radResistanceDuration = effect.getDuration();
-                }
-            }
-            json.append(",\"hasRadResistance\":").append(hasRadResistance);
-            json.append(",\"radResistanceLevel\":").append(radResistanceAmplifier + 1);
-            json.append(",\"radResistanceDuration\":").append(radResistanceDuration);
-            json.append(",\"isInWater\":").append(player.isInWater());
-
-            // Armor protection percentage
-            float armorProtection = calculateArmorProtection(player);
-            json.append(",\"armorProtection\":").append(String.format(java.util.Locale.US, "%.1f", armorProtection));
+    /**
+     * Collect the dashboard's data on the server thread, at most once per broadcast interval.
+     * Players are collected {@link #SNAPSHOT_PLAYERS_PER_TICK} at a time, so a full server's snapshot is
+     * spread over a few ticks, and published once every player has been collected.
+     */
+    public static void onServerTick(ServerTickEvent.Post event) {
+        RadiationDebugServer server = instance;
+        if (server != null && server.running) {
+            server.tickSnapshot();
+        }
+    }
 
-            // Nearby radioactive blocks with shielding info
-            json.append(",\"nearbyRadioactiveBlocks\":").append(getNearbyRadioactiveBlocksWithShielding(player));
+    private void tickSnapshot() {
+        if (pendingPlayers == null) {
+            if (--ticksUntilSnapshot > 0 || webSocketServer == null || !webSocketServer.hasConnections()) {
+                return;
+            }
+            ticksUntilSnapshot = snapshotIntervalTicks;
+            pendingPlayers = List.copyOf(minecraftServer.getPlayerList().getPlayers());
+            pendingData = new ArrayList<>(pendingPlayers.size());
+            pendingTimestamp = System.currentTimeMillis();
+        }
 
-            json.append("}");
+        int collected = 0;
+        int index = pendingData.size();
+        while (index < pendingPlayers.size() && collected < SNAPSHOT_PLAYERS_PER_TICK) {
+            ServerPlayer player = pendingPlayers.get(index++);
+            // Left while the snapshot was being collected
+            pendingData.add(player.isRemoved() ? null : collectPlayerData(player));
+            collected++;
         }
 
-        json.append("],\"config\":{");
-        json.append("\"blockRadiationRange\":").append(RadiationConfig.BLOCK_RADIATION_RANGE.get());
-        json.append(",\"shieldingEnabled\":").append(RadiationConfig.ENABLE_RADIATION_SHIELDING.get());
-        json.append(",\"defaultShielding\":").append(RadiationConfig.DEFAULT_BLOCK_SHIELDING.get());
-        json.append("}}");
+        if (index >= pendingPlayers.size()) {
+            List<PlayerDebugData> players = pendingData.stream().filter(Objects::nonNull).toList();
+            snapshot = new DebugSnapshot(pendingTimestamp, players, CompiledRadiationConfig.get(),
+                    RadiationConfig.DEFAULT_BLOCK_SHIELDING.get());
+            pendingPlayers = null;
+            pendingData = null;
+        }
+    }
 
-        return json.toString();
+    private PlayerDebugData collectPlayerData(ServerPlayer player) {
+        var effect = player.getEffect(ModEffects.radResistanceHolder());
+
+        // Reuse the scan the dynamic radiation handler made this tick instead of scanning again
+        RadiationBlockScanner.ScanResult scan = DynamicRadiationHandler.getLastBlockScan(player);
+        List<RadiationBlockScanner.SourceHit> nearbySources = scan != null
+                ? List.copyOf(scan.sources.subList(0, Math.min(MAX_REPORTED_SOURCES, scan.sources.size())))
+                : List.of();
+
+        return new PlayerDebugData(
+                player.getName().getString(),
+                player.getUUID(),
+                player.blockPosition(),
+                player.level().dimension().location().toString(),
+                getBiomeName(player),
+                RadiationAPI.getRadiationLevel(player),
+                DynamicRadiationHandler.getCurrentRadiationExposure(player),
+                effect != null,
+                effect != null ? effect.getAmplifier() : 0,
+                effect != null ? effect.getDuration() : 0,
+                player.isInWater(),
+                calculateArmorProtection(player),
+                nearbySources);
     }
 
     private String getBiomeName(ServerPlayer player) {
@@ -428,124 +384,6 @@ public class RadiationDebugServer {
         return Math.min(100.0f, (totalProtection / 20.0f) * 100.0f);
     }
 
-    private String getNearbyRadioactiveBlocksWithShielding(ServerPlayer player) {
-        StringBuilder json = new StringBuilder("[");
-        BlockPos playerPos = player.blockPosition();
-        Level world = player.level();
-        int range = RadiationConfig.BLOCK_RADIATION_RANGE.get();
-        boolean shieldingEnabled = RadiationConfig.ENABLE_RADIATION_SHIELDING.get();
-
-        // Build a set of radioactive block IDs from the config
-        java.util.Set<String> radioactiveBlockIds = new java.util.HashSet<>();
-        for (String entry : RadiationConfig.RADIOACTIVE_BLOCKS.get()) {
-            String[] parts = entry.split(":");
-            if (parts.length >= 2) {
-                radioactiveBlockIds.add(parts[0] + ":" + parts[1]);
-            }
-        }
-
-        boolean first = true;
-        int count = 0;
-
-        for (int x = -range; x <= range && count < 20; x++) {
-            for (int y = -range; y <= range && count < 20; y++) {
-                for (int z = -range; z <= range && count < 20; z++) {
-                    BlockPos checkPos = playerPos.offset(x, y, z);
-                    BlockState blockState = world.getBlockState(checkPos);
-                    ResourceLocation blockId = BuiltInRegistries.BLOCK.getKey(blockState.getBlock());
-                    String blockIdString = blockId.toString();
-
-                    if (radioactiveBlockIds.contains(blockIdString)) {
-                        if (!first)
-                            json.append(",");
-                        first = false;
-
-                        double distance = Math.sqrt(x * x + y * y + z * z);
-
-                        // Calculate shielding if enabled
-                        float shieldingReduction = 0.0f;
-                        int blocksBetween = 0;
-                        if (shieldingEnabled) {
-                            shieldingReduction = DynamicRadiationHandler.calculateShieldingReduction(
-                                    player.level(), playerPos, checkPos);
-                            blocksBetween = (int) distance;
-                        }
-
-                        json.append("{\"block\":\"").append(blockIdString).append("\"");
-                        json.append(",\"distance\":").append(String.format(java.util.Locale.US, "%.1f", distance));
-                        json.append(",\"pos\":{\"x\":").append(checkPos.getX());
-                        json.append(",\"y\":").append(checkPos.getY());
-                        json.append(",\"z\":").append(checkPos.getZ()).append("}");
-                        json.append(",\"shielding\":")
-                                .append(String.format(java.util.Locale.US, "%.1f", shieldingReduction * 100));
-                        json.append(",\"isShielded\":").append(shieldingReduction > 0.01f);
-                        json.append("}");
-                        count++;
-                    }
-                }
-            }
-        }
-
-        json.append("]");
-        return json.toString();
-    }
-
-    private String getNearbyRadioactiveBlocksJson(ServerPlayer player) {
-        StringBuilder json = new StringBuilder("[");
-        BlockPos playerPos = player.blockPosition();
-        Level world = player.level();
-        int range = RadiationConfig.BLOCK_RADIATION_RANGE.get();
-
-        // Build a set of radioactive block IDs from the config (format:
-        // "modid:block:chance:maxLevel")
-        java.util.Set<String> radioactiveBlockIds = new java.util.HashSet<>();
-        for (String entry : RadiationConfig.RADIOACTIVE_BLOCKS.get()) {
-            String[] parts = entry.split(":");
-            if (parts.length >= 2) {
-                radioactiveBlockIds.add(parts[0] + ":" + parts[1]);
-            }
-        }
-
-        boolean first = true;
-        int count = 0;
-
-        for (int x = -range; x <= range && count < 20; x++) {
-            for (int y = -range; y <= range && count < 20; y++) {
-                for (int z = -range; z <= range && count < 20; z++) {
-                    BlockPos checkPos = playerPos.offset(x, y, z);
-                    BlockState blockState = world.getBlockState(checkPos);
-                    ResourceLocation blockId = BuiltInRegistries.BLOCK.getKey(blockState.getBlock());
-                    String blockIdString = blockId.toString();
-
-                    if (radioactiveBlockIds.contains(blockIdString)) {
-                        if (!first)
-                            json.append(",");
-                        first = false;
-
-                        double distance = Math.sqrt(x * x + y * y + z * z);
-                        json.append("{\"block\":\"").append(blockIdString).append("\"");
-                        json.append(",\"distance\":").append(String.format(java.util.Locale.US, "%.1f", distance));
-                        json.append(",\"pos\":{\"x\":").append(checkPos.getX());
-                        json.append(",\"y\":").append(checkPos.getY());
-                        json.append(",\"z\":").append(checkPos.getZ()).append("}}");
-                        count++;
-                    }
-                }
-            }
-        }
-
-        json.append("]");
-        return json.toString();
-    }
-
-    private String escapeJson(String s) {
-        return s.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
-    }
-
     private class DashboardHandler implements HttpHandler {
         @Override
         public void handle(HttpExchange exchange) throws IOException {
@@ -658,172 +496,20 @@ public class RadiationDebugServer {
         }
     }
 
-    private static class WebSocketClient {
-        private final Socket socket;
-        private final InputStream input;
-        private final OutputStream output;
-        private volatile boolean connected = false;
-
-        public WebSocketClient(Socket socket) throws IOException {
-            this.socket = socket;
-            this.socket.setSoTimeout(60000); // 60 second timeout for reads
-            this.socket.setTcpNoDelay(true); // Disable Nagle's algorithm for lower latency
-            this.socket.setKeepAlive(true); // Enable TCP keepalive
-            this.input = socket.getInputStream();
-            this.output = socket.getOutputStream();
-        }
-
-        public boolean performHandshake() {
-            try {
-                BufferedReader reader = new BufferedReader(new InputStreamReader(input));
-                String line;
-                String webSocketKey = null;
-
-                while ((line = reader.readLine()) != null && !line.isEmpty()) {
-                    if (line.startsWith("Sec-WebSocket-Key:")) {
-                        webSocketKey = line.substring(19).trim();
-                    }
-                }
-
-                if (webSocketKey == null) {
-                    return false;
-                }
-
-                String acceptKey = generateAcceptKey(webSocketKey);
-                String response = "HTTP/1.1 101 Switching Protocols\r\n" +
-                        "Upgrade: websocket\r\n" +
-                        "Connection: Upgrade\r\n" +
-                        "Sec-WebSocket-Accept: " + acceptKey + "\r\n\r\n";
-
-                output.write(response.getBytes(StandardCharsets.UTF_8));
-                output.flush();
-                connected = true;
-                return true;
-            } catch (Exception e) {
-                return false;
-            }
-        }
-
-        private String generateAcceptKey(String key) throws Exception {
-            String magic = key + "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
-            MessageDigest md = MessageDigest.getInstance("SHA-1");
-            byte[] hash = md.digest(magic.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        }
-
-        public void sendMessage(String message) throws IOException {
-            byte[] messageBytes = message.getBytes(StandardCharsets.UTF_8);
-            int length = messageBytes.length;
-
-            ByteArrayOutputStream frame = new ByteArrayOutputStream();
-            frame.write(0x81); // Text frame, FIN bit set
-
-            if (length <= 125) {
-                frame.write(length);
-            } else if (length <= 65535) {
-                frame.write(126);
-                frame.write((length >> 8) & 0xFF);
-                frame.write(length & 0xFF);
-            } else {
-                frame.write(127);
-                for (int i = 7; i >= 0; i--) {
-                    frame.write((length >> (8 * i)) & 0xFF);
-                }
-            }
-
-            frame.write(messageBytes);
-
-            synchronized (output) {
-                output.write(frame.toByteArray());
-                output.flush();
-            }
-        }
-
-        public String readMessage() throws IOException {
-            try {
-                int firstByte = input.read();
-                if (firstByte == -1) {
-                    connected = false;
-                    return null;
-                }
-
-                int opcode = firstByte & 0x0F;
-
-                // Handle control frames
-                if (opcode == 0x08) { // Close frame
-                    connected = false;
-                    return null;
-                } else if (opcode == 0x09) { // Ping frame
-                    handlePingFrame();
-                    return null; // Don't return ping as a message
-                } else if (opcode == 0x0A) { // Pong frame
-                    return null; // Ignore pong frames
-                }
-
-                int secondByte = input.read();
-                boolean masked = (secondByte & 0x80) != 0;
-                int length = secondByte & 0x7F;
-
-                if (length == 126) {
-                    length = (input.read() << 8) | input.read();
-                } else if (length == 127) {
-                    length = 0;
-                    for (int i = 0; i < 8; i++) {
-                        length = (length << 8) | input.read();
-                    }
-                }
-
-                byte[] maskKey = null;
-                if (masked) {
-                    maskKey = new byte[4];
-                    input.read(maskKey);
-                }
-
-                byte[] payload = new byte[length];
-                int read = 0;
-                while (read < length) {
-                    int r = input.read(payload, read, length - read);
-                    if (r == -1)
-                        break;
-                    read += r;
-                }
-
-                if (masked && maskKey != null) {
-                    for (int i = 0; i < payload.length; i++) {
-                        payload[i] ^= maskKey[i % 4];
-                    }
-                }
-
-                return new String(payload, StandardCharsets.UTF_8);
-            } catch (java.net.SocketTimeoutException e) {
-                // Timeout is normal - just means no data received, connection is still alive
-                return null;
-            }
-        }
-
-        private void handlePingFrame() {
-            try {
-                // Send pong frame back (opcode 0x0A)
-                synchronized (output) {
-                    output.write(0x8A); // Pong frame, FIN bit set
-                    output.write(0x00); // No payload
-                    output.flush();
-                }
-            } catch (IOException e) {
-                connected = false;
-            }
-        }
-
-        public boolean isConnected() {
-            return connected && !socket.isClosed();
-        }
+    /**
+     * The dashboard's data as collected on the server thread. Immutable, so any thread may serialize it.
+     */
+    record DebugSnapshot(long timestamp, List<PlayerDebugData> players, CompiledRadiationConfig config,
+                         double defaultShielding) {
+    }
 
-        public void close() {
-            connected = false;
-            try {
-                socket.close();
-            } catch (IOException e) {
-                /* ignore */ }
-        }
+    /**
+     * Everything the dashboard shows about one player, collected from the live player
+     */
+    record PlayerDebugData(String name, UUID uuid, BlockPos position, String dimension, String biome,
+                           int radiationLevel, float dynamicExposure,
+                           boolean hasRadResistance, int radResistanceAmplifier, int radResistanceDuration,
+                           boolean isInWater, float armorProtection,
+                           List<RadiationBlockScanner.SourceHit> nearbySources) {
     }
 }
@@ -1,5 +1,6 @@
 package com.momosoftworks.irradiated.common.effect;
 
+import com.momosoftworks.irradiated.common.radiation.RadiationProfiler;
 import com.momosoftworks.irradiated.core.init.ModSounds;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.util.RandomSource;
@@ -29,6 +30,13 @@ public class RadiationEffect extends MobEffect {
             return true;
         }
         
+        long start = RadiationProfiler.start();
+        applyRadiation(entity, amplifier);
+        RadiationProfiler.end(RadiationProfiler.Stage.EFFECT_TICK, start);
+        return true;
+    }
+    
+    private void applyRadiation(LivingEntity entity, int amplifier) {
         // Convert amplifier (0-99) to radiation level (1-100)
         int radiationLevel = amplifier + 1;
         
@@ -44,8 +52,6 @@ public class RadiationEffect extends MobEffect {
         if (entity instanceof Player && entity.tickCount % getGeigerInterval(radiationLevel) == 0) {
             playGeigerSound(entity, radiationLevel);
         }
-        
-        return true;
     }
     
     /**
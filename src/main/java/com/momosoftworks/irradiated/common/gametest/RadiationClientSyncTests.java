@@ -0,0 +1,100 @@
+package com.momosoftworks.irradiated.common.gametest;
+
+import com.mojang.authlib.GameProfile;
+import com.momosoftworks.irradiated.Irradiated;
+import com.momosoftworks.irradiated.api.radiation.RadiationAPI;
+import com.momosoftworks.irradiated.common.network.RadiationSyncPayload;
+import com.momosoftworks.irradiated.common.radiation.CompiledRadiationConfig;
+import com.momosoftworks.irradiated.common.radiation.DynamicRadiationHandler;
+import com.momosoftworks.irradiated.common.radiation.RadiationConfig;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.PacketSendListener;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.common.ClientboundCustomPayloadPacket;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.neoforge.common.util.FakePlayer;
+import net.neoforged.neoforge.common.util.FakePlayerNetHandler;
+import net.neoforged.neoforge.event.tick.PlayerTickEvent;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Tests for the radiation state synced to the client's HUD.
+ * They run in their own batch, since they change the radiation config while they run.
+ *
+ * <ul>
+ *   <li>Disabled: with dynamic radiation turned off, exposure set by a command still reaches the client</li>
+ * </ul>
+ */
+@GameTestHolder(Irradiated.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class RadiationClientSyncTests {
+
+    private static final String TEMPLATE = "load_test_area";
+    private static final String BATCH = "radiation_client_sync";
+
+    @GameTest(template = TEMPLATE, batch = BATCH)
+    public static void syncsWhileDisabled(GameTestHelper helper) {
+        boolean wasEnabled = RadiationConfig.ENABLE_DYNAMIC_RADIATION.get();
+        RadiationConfig.ENABLE_DYNAMIC_RADIATION.set(false);
+        CompiledRadiationConfig.recompile();
+
+        UUID id = UUID.nameUUIDFromBytes("client_sync:disabled".getBytes(StandardCharsets.UTF_8));
+        FakePlayer player = new FakePlayer(helper.getLevel(), new GameProfile(id, "irr_sync"));
+        RecordingNetHandler connection = new RecordingNetHandler(player);
+        player.connection = connection;
+        BlockPos pos = helper.absolutePos(new BlockPos(8, 1, 8));
+        player.moveTo(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5, 0.0f, 0.0f);
+
+        helper.startSequence()
+                // First tick syncs the player's initial state
+                .thenExecute(() -> DynamicRadiationHandler.onPlayerTick(new PlayerTickEvent.Post(player)))
+                .thenExecute(() -> RadiationAPI.setRadiationLevel(player, 40, 1200))
+                // Long enough for the next sync to be due
+                .thenExecuteFor(20, () -> DynamicRadiationHandler.onPlayerTick(new PlayerTickEvent.Post(player)))
+                .thenExecute(() -> {
+                    RadiationConfig.ENABLE_DYNAMIC_RADIATION.set(wasEnabled);
+                    CompiledRadiationConfig.recompile();
+                    player.removeAllEffects();
+
+                    RadiationSyncPayload last = connection.lastSync;
+                    helper.assertTrue(last != null, "No radiation sync was sent with dynamic radiation disabled");
+                    helper.assertTrue(last.exposure() == 40.0f, String.format(Locale.ROOT,
+                            "Client was last sent an exposure of %.2f instead of 40", last.exposure()));
+                })
+                .thenSucceed();
+    }
+
+    /**
+     * Fake player connection that remembers the last radiation sync sent through it
+     */
+    private static class RecordingNetHandler extends FakePlayerNetHandler {
+        RadiationSyncPayload lastSync = null;
+
+        RecordingNetHandler(ServerPlayer player) {
+            super(player.server, player);
+        }
+
+        @Override
+        public void send(Packet<?> packet) {
+            record(packet);
+        }
+
+        @Override
+        public void send(Packet<?> packet, PacketSendListener listener) {
+            record(packet);
+        }
+
+        private void record(Packet<?> packet) {
+            if (packet instanceof ClientboundCustomPayloadPacket custom && custom.payload() instanceof RadiationSyncPayload sync) {
+                lastSync = sync;
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.momosoftworks.irradiated.common.gametest;
+
+import com.mojang.authlib.GameProfile;
+import com.momosoftworks.irradiated.Irradiated;
+import com.momosoftworks.irradiated.common.radiation.CompiledRadiationConfig;
+import com.momosoftworks.irradiated.common.radiation.DynamicRadiationHandler;
+import com.momosoftworks.irradiated.common.radiation.RadiationBlockScanner;
+import com.momosoftworks.irradiated.common.radiation.RadiationFieldCache;
+import com.momosoftworks.irradiated.common.radiation.RadiationMetrics;
+import com.momosoftworks.irradiated.core.init.ModAttachments;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.neoforged.neoforge.common.util.FakePlayer;
+import net.neoforged.neoforge.common.util.FakePlayerFactory;
+import net.neoforged.neoforge.event.tick.PlayerTickEvent;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Tests for the shared block radiation field ({@link RadiationFieldCache}).
+ * Each runs in its own batch, since the shared cell test reads the global cache counters in {@link RadiationMetrics}
+ * and any other lookups at the same time would skew them.
+ *
+ * <ul>
+ *   <li>Shared cell: players standing in one 2x2x2 cell, sampled on their own staggered schedules, share one scan</li>
+ *   <li>Shared receiver: a player on a slab, at an odd and at an even Y, hits the cell another player next to them
+ *   filled, finds the same sources at most a block off, and misses once a block in range changes</li>
+ * </ul>
+ * Both pass trivially when {@code shareRadiationField} is disabled.
+ */
+@GameTestHolder(Irradiated.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class RadiationFieldCacheTests {
+
+    private static final String TEMPLATE = "load_test_area";
+    private static final String SHARED_CELL_BATCH = "radiation_field_cache_shared_cell";
+    private static final String SHARED_RECEIVER_BATCH = "radiation_field_cache_shared_receiver";
+
+    private static final int PLAYERS = 8;
+    private static final int TICKS = 200;
+
+    @GameTest(template = TEMPLATE, batch = SHARED_CELL_BATCH, timeoutTicks = TICKS + 100)
+    public static void sharedCell(GameTestHelper helper) {
+        if (!CompiledRadiationConfig.get().shareRadiationField()) {
+            helper.succeed();
+            return;
+        }
+        ServerLevel level = helper.getLevel();
+        buildShieldedSource(helper, 24, 24);
+
+        // Every player on the same block, so they're in one cell
+        BlockPos cellPos = helper.absolutePos(new BlockPos(24, 1, 24));
+        List<FakePlayer> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            UUID id = UUID.nameUUIDFromBytes(("field_cache:" + i).getBytes(StandardCharsets.UTF_8));
+            FakePlayer player = FakePlayerFactory.get(level, new GameProfile(id, "irr_field_" + i));
+            player.removeData(ModAttachments.RADIATION_DATA);
+            player.removeAllEffects();
+            player.moveTo(cellPos.getX() + 0.5, cellPos.getY(), cellPos.getZ() + 0.5, 0.0f, 0.0f);
+            players.add(player);
+        }
+
+        long startHits = RadiationMetrics.getFieldCacheHits();
+        long startMisses = RadiationMetrics.getFieldCacheMisses();
+        helper.startSequence()
+                .thenExecuteFor(TICKS, () -> {
+                    for (FakePlayer player : players) {
+                        DynamicRadiationHandler.onPlayerTick(new PlayerTickEvent.Post(player));
+                    }
+                })
+                .thenExecute(() -> {
+                    for (FakePlayer player : players) {
+                        player.removeData(ModAttachments.RADIATION_DATA);
+                        player.removeAllEffects();
+                    }
+                    long hits = RadiationMetrics.getFieldCacheHits() - startHits;
+                    long misses = RadiationMetrics.getFieldCacheMisses() - startMisses;
+                    long lookups = hits + misses;
+                    // Players sample again on their own staggered ticks, which must share the cell's scan too
+                    helper.assertTrue(lookups > PLAYERS, "Expected players to sample more than once, got " + lookups + " lookups");
+                    double hitRate = (double) hits / lookups;
+                    helper.assertTrue(hitRate >= 0.8, String.format(Locale.ROOT,
+                            "Hit rate for %d players in one cell was %.3f (%d hits, %d misses)", PLAYERS, hitRate, hits, misses));
+                })
+                .thenSucceed();
+    }
+
+    @GameTest(template = TEMPLATE, batch = SHARED_RECEIVER_BATCH)
+    public static void sharedReceiver(GameTestHelper helper) {
+        if (!CompiledRadiationConfig.get().shareRadiationField()) {
+            helper.succeed();
+            return;
+        }
+        ServerLevel level = helper.getLevel();
+        CompiledRadiationConfig config = CompiledRadiationConfig.get();
+        int range = config.blockRadiationRange();
+        long tick = level.getServer().getTickCount();
+
+        // One slab at each height, so one of them is at an odd absolute Y
+        for (int y = 1; y <= 2; y++) {
+            int z = 8 + y * 16;
+            buildShieldedSource(helper, 8, z);
+            helper.setBlock(8, y, z, Blocks.STONE_SLAB);
+            if (y == 2) {
+                helper.setBlock(8, 1, z, Blocks.STONE);
+            }
+
+            // A player standing on a bottom slab is at the slab's block position. Another player next to them
+            // in the same cell (flipping the lowest bit of X keeps it) looks the cell up first.
+            BlockPos receiver = helper.absolutePos(new BlockPos(8, y, z));
+            BlockPos neighbor = new BlockPos(receiver.getX() ^ 1, receiver.getY(), receiver.getZ());
+            RadiationBlockScanner.ScanResult filled = RadiationFieldCache.scan(level, neighbor, range, config.shielding(), tick);
+            RadiationBlockScanner.ScanResult cached = RadiationFieldCache.scan(level, receiver, range, config.shielding(), tick);
+            RadiationBlockScanner.ScanResult direct = RadiationBlockScanner.scan(level, receiver, range, config.shielding());
+
+            helper.assertTrue(cached == filled, "Lookup from " + receiver.toShortString() + " missed the cell filled from "
+                    + neighbor.toShortString());
+            helper.assertTrue(!direct.sources.isEmpty(), "No sources found around " + receiver.toShortString());
+            // The shared receiver is at most a block away, so every source is found and no more than a block off
+            for (RadiationBlockScanner.SourceHit expected : direct.sources) {
+                RadiationBlockScanner.SourceHit actual = cached.sources.stream()
+                        .filter(source -> source.pos.equals(expected.pos))
+                        .findFirst()
+                        .orElse(null);
+                helper.assertTrue(actual != null, String.format(Locale.ROOT, "At %s, the cache is missing the source at %s",
+                        receiver.toShortString(), expected.pos.toShortString()));
+                helper.assertTrue(Math.abs(actual.distance - expected.distance) <= 1.0 + 1e-6, String.format(Locale.ROOT,
+                        "At %s, the source at %s is %.2f blocks away from the cache's receiver and %.2f from the player's",
+                        receiver.toShortString(), expected.pos.toShortString(), actual.distance, expected.distance));
+            }
+
+            // A block changing in range invalidates the cell
+            helper.setBlock(8, 3, z - 4, Blocks.COBBLESTONE);
+            RadiationBlockScanner.ScanResult rescanned = RadiationFieldCache.scan(level, receiver, range, config.shielding(), tick);
+            helper.assertTrue(rescanned != cached, "Lookup from " + receiver.toShortString() + " still hit after a block changed in range");
+        }
+        helper.succeed();
+    }
+
+    /**
+     * Build a stone floor around a position with a radioactive block a few blocks away, behind an obsidian wall
+     */
+    private static void buildShieldedSource(GameTestHelper helper, int x, int z) {
+        for (int dx = -6; dx <= 6; dx++) {
+            for (int dz = -6; dz <= 6; dz++) {
+                helper.setBlock(x + dx, 0, z + dz, Blocks.STONE);
+            }
+        }
+        helper.setBlock(x + 5, 1, z, Blocks.ANCIENT_DEBRIS);
+        for (int dz = -1; dz <= 1; dz++) {
+            for (int y = 1; y <= 3; y++) {
+                helper.setBlock(x + 3, y, z + dz, Blocks.OBSIDIAN);
+            }
+        }
+    }
+}
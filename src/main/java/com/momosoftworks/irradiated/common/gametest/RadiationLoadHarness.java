@@ -0,0 +1,209 @@
+package com.momosoftworks.irradiated.common.gametest;
+
+import com.mojang.authlib.GameProfile;
+import com.momosoftworks.irradiated.common.radiation.DynamicRadiationHandler;
+import com.momosoftworks.irradiated.common.temp.RadiationTempHandler;
+import com.momosoftworks.irradiated.core.init.ModAttachments;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.fml.loading.FMLPaths;
+import net.neoforged.neoforge.common.util.FakePlayer;
+import net.neoforged.neoforge.common.util.FakePlayerFactory;
+import net.neoforged.neoforge.event.tick.PlayerTickEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Drives the radiation system for a crowd of fake players and measures how long it takes per server tick.
+ *
+ * <p>Fake players aren't ticked by the server, so every tick the harness moves each player a little, advances
+ * its tick count and fires Irradiated's player tick handlers for it directly, timing only the handlers. Tick
+ * counts start at a different offset for each player, so work done every N player ticks is staggered across
+ * players like it is for players who logged in at different times. The first
+ * {@link #WARMUP_TICKS} ticks are discarded so chunk loading, lookup table compilation and the JIT don't
+ * skew the result. Block scans handed off to worker threads are not counted, only the server thread's share.</p>
+ *
+ * <p>Each run logs its mean, p99 and max handler time per tick and writes them as JSON to
+ * {@code irradiated-loadtest/<scenario>.json} in the game directory. By default a run only fails if no ticks
+ * were measured or, where the scenario is radioactive, no player gained any exposure, since timings depend on
+ * the machine running the test. Setting the {@code irradiated.loadtest.budgetMs} system property also fails
+ * the run if the p99 exceeds that many milliseconds.</p>
+ */
+public class RadiationLoadHarness {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RadiationLoadHarness.class);
+
+    public static final int WARMUP_TICKS = 40;
+    public static final int MEASURED_TICKS = 200;
+    public static final int TOTAL_TICKS = WARMUP_TICKS + MEASURED_TICKS;
+
+    // Blocks per tick the fake players walk, about a player's walking speed
+    private static final double WALK_SPEED = 0.2;
+
+    private final String scenario;
+    private final BlockPos min;
+    private final BlockPos max;
+    private final List<FakePlayer> players = new ArrayList<>();
+    private final double[] directionX;
+    private final double[] directionZ;
+    private final long[] tickNanos = new long[MEASURED_TICKS];
+    private int tick = 0;
+
+    private RadiationLoadHarness(String scenario, BlockPos min, BlockPos max, int playerCount) {
+        this.scenario = scenario;
+        this.min = min;
+        this.max = max;
+        this.directionX = new double[playerCount];
+        this.directionZ = new double[playerCount];
+    }
+
+    /**
+     * Spawn fake players at random positions in an area, each walking in a random direction
+     * @param level Level the players are in
+     * @param min Lowest corner of the area, the players stand at its Y level
+     * @param max Highest corner of the area
+     * @param playerCount Number of players to spawn
+     */
+    public static RadiationLoadHarness spawn(String scenario, ServerLevel level, BlockPos min, BlockPos max, int playerCount) {
+        RadiationLoadHarness harness = new RadiationLoadHarness(scenario, min, max, playerCount);
+        Random random = new Random(scenario.hashCode());
+
+        for (int i = 0; i < playerCount; i++) {
+            // Distinct per scenario, since fake players are shared by profile and scenarios run at the same time
+            UUID id = UUID.nameUUIDFromBytes((scenario + ":" + i).getBytes(StandardCharsets.UTF_8));
+            FakePlayer player = FakePlayerFactory.get(level, new GameProfile(id, "irr_load_" + i));
+
+            // Fake players are cached, so clear anything left from a previous run
+            player.removeData(ModAttachments.RADIATION_DATA);
+            player.removeAllEffects();
+            player.tickCount = i;
+            player.moveTo(min.getX() + random.nextDouble() * (max.getX() - min.getX()), min.getY(),
+                    min.getZ() + random.nextDouble() * (max.getZ() - min.getZ()), 0.0f, 0.0f);
+
+            double angle = random.nextDouble() * Math.PI * 2;
+            harness.directionX[i] = Math.cos(angle);
+            harness.directionZ[i] = Math.sin(angle);
+            harness.players.add(player);
+        }
+        return harness;
+    }
+
+    /**
+     * Move every player and run Irradiated's tick handlers for them, recording the handlers' time
+     */
+    public void tick() {
+        for (int i = 0; i < players.size(); i++) {
+            walk(i);
+            players.get(i).tickCount++;
+        }
+
+        long start = System.nanoTime();
+        for (FakePlayer player : players) {
+            PlayerTickEvent.Post event = new PlayerTickEvent.Post(player);
+            DynamicRadiationHandler.onPlayerTick(event);
+            RadiationTempHandler.onPlayerTick(event);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (tick >= WARMUP_TICKS && tick < TOTAL_TICKS) {
+            tickNanos[tick - WARMUP_TICKS] = elapsed;
+        }
+        tick++;
+    }
+
+    /**
+     * Report the results, remove the players' radiation and fail the test if the radiation system didn't run,
+     * or if a budget is set and the p99 is over it
+     * @param expectExposure Whether the scenario is radioactive with the current config, so players must gain exposure
+     */
+    public void finish(GameTestHelper helper, boolean expectExposure) {
+        long[] sorted = Arrays.copyOf(tickNanos, Math.min(Math.max(tick - WARMUP_TICKS, 0), MEASURED_TICKS));
+        int exposedPlayers = 0;
+        for (FakePlayer player : players) {
+            if (DynamicRadiationHandler.getCurrentRadiationExposure(player) > 0) {
+                exposedPlayers++;
+            }
+            player.removeData(ModAttachments.RADIATION_DATA);
+            player.removeAllEffects();
+        }
+        if (sorted.length == 0) {
+            helper.fail("No ticks were measured for " + scenario);
+            return;
+        }
+
+        Arrays.sort(sorted);
+        double meanMs = Arrays.stream(sorted).average().orElse(0) / 1_000_000.0;
+        double p99Ms = sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / 1_000_000.0;
+        double maxMs = sorted[sorted.length - 1] / 1_000_000.0;
+        String budgetProperty = System.getProperty("irradiated.loadtest.budgetMs");
+        double budgetMs = budgetProperty != null ? Double.parseDouble(budgetProperty) : Double.NaN;
+        boolean withinBudget = budgetProperty == null || p99Ms <= budgetMs;
+
+        LOGGER.info("Load test {}: {} players, {} exposed, {} ticks, mean {} ms, p99 {} ms, max {} ms{}",
+                scenario, players.size(), exposedPlayers, sorted.length, format(meanMs), format(p99Ms), format(maxMs),
+                budgetProperty != null ? " (budget " + format(budgetMs) + " ms)" : "");
+        writeReport(sorted.length, exposedPlayers, meanMs, p99Ms, maxMs, budgetProperty != null ? budgetMs : null, withinBudget);
+
+        if (expectExposure && exposedPlayers == 0) {
+            helper.fail(scenario + ": no player gained any radiation exposure");
+        } else if (!withinBudget) {
+            helper.fail(String.format(Locale.ROOT, "%s: p99 of %.3f ms per tick is over the %.3f ms budget", scenario, p99Ms, budgetMs));
+        }
+    }
+
+    private void walk(int index) {
+        FakePlayer player = players.get(index);
+        double x = player.getX() + directionX[index] * WALK_SPEED;
+        double z = player.getZ() + directionZ[index] * WALK_SPEED;
+
+        // Turn around at the edges of the area
+        if (x < min.getX() || x > max.getX()) {
+            directionX[index] = -directionX[index];
+            x = player.getX();
+        }
+        if (z < min.getZ() || z > max.getZ()) {
+            directionZ[index] = -directionZ[index];
+            z = player.getZ();
+        }
+        player.moveTo(x, player.getY(), z, player.getYRot(), player.getXRot());
+    }
+
+    /**
+     * @param budgetMs The p99 budget, or null if none is set
+     */
+    private void writeReport(int ticks, int exposedPlayers, double meanMs, double p99Ms, double maxMs, Double budgetMs, boolean withinBudget) {
+        String json = "{\"scenario\":\"" + scenario + "\""
+                + ",\"players\":" + players.size()
+                + ",\"exposedPlayers\":" + exposedPlayers
+                + ",\"ticks\":" + ticks
+                + ",\"meanMs\":" + format(meanMs)
+                + ",\"p99Ms\":" + format(p99Ms)
+                + ",\"maxMs\":" + format(maxMs)
+                + ",\"budgetMs\":" + (budgetMs != null ? format(budgetMs) : "null")
+                + ",\"withinBudget\":" + withinBudget
+                + "}";
+        try {
+            Path directory = FMLPaths.GAMEDIR.get().resolve("irradiated-loadtest");
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(scenario + ".json"), json);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write load test report for {}", scenario, e);
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+}
@@ -0,0 +1,175 @@
+package com.momosoftworks.irradiated.common.gametest;
+
+import com.momosoftworks.irradiated.Irradiated;
+import com.momosoftworks.irradiated.common.radiation.CompiledRadiationConfig;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.commands.FillBiomeCommand;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biomes;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.Random;
+
+/**
+ * Load tests for the radiation system: crowds of fake players in radioactive terrain.
+ * Run them with the {@code gameTestServer} run config, or in game with {@code /test runall}.
+ *
+ * <p>Each scenario runs with a few dozen and with over a hundred players.</p>
+ * <ul>
+ *   <li>Ore veins: a field of radioactive ore veins and shielding walls, exercising the block scan and shielding</li>
+ *   <li>Biome: a radioactive biome with no blocks around, exercising the biome lookup and sampling</li>
+ *   <li>Dimension: players in the Nether, exercising the dimension lookup in another level</li>
+ * </ul>
+ * @see RadiationLoadHarness
+ */
+@GameTestHolder(Irradiated.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class RadiationLoadTests {
+
+    // An empty 48x12x48 area
+    private static final String TEMPLATE = "load_test_area";
+    private static final int TIMEOUT_TICKS = RadiationLoadHarness.TOTAL_TICKS + 100;
+
+    private static final BlockPos AREA_MIN = new BlockPos(1, 1, 1);
+    private static final BlockPos AREA_MAX = new BlockPos(46, 1, 46);
+
+    @GameTest(template = TEMPLATE, timeoutTicks = TIMEOUT_TICKS)
+    public static void oreVeins32(GameTestHelper helper) {
+        oreVeins(helper, 32);
+    }
+
+    @GameTest(template = TEMPLATE, timeoutTicks = TIMEOUT_TICKS)
+    public static void oreVeins128(GameTestHelper helper) {
+        oreVeins(helper, 128);
+    }
+
+    @GameTest(template = TEMPLATE, timeoutTicks = TIMEOUT_TICKS)
+    public static void biome32(GameTestHelper helper) {
+        biome(helper, 32);
+    }
+
+    @GameTest(template = TEMPLATE, timeoutTicks = TIMEOUT_TICKS)
+    public static void biome128(GameTestHelper helper) {
+        biome(helper, 128);
+    }
+
+    @GameTest(template = TEMPLATE, timeoutTicks = TIMEOUT_TICKS)
+    public static void dimension32(GameTestHelper helper) {
+        dimension(helper, 32);
+    }
+
+    @GameTest(template = TEMPLATE, timeoutTicks = TIMEOUT_TICKS)
+    public static void dimension128(GameTestHelper helper) {
+        dimension(helper, 128);
+    }
+
+    private static void oreVeins(GameTestHelper helper, int players) {
+        Random random = new Random(players);
+
+        // Stone ground with ore veins running through it and sticking out of it
+        for (int x = 0; x < 48; x++) {
+            for (int z = 0; z < 48; z++) {
+                helper.setBlock(x, 0, z, Blocks.STONE);
+            }
+        }
+        Block[] ores = {Blocks.ANCIENT_DEBRIS, Blocks.NETHERITE_BLOCK, Blocks.REDSTONE_BLOCK};
+        for (int i = 0; i < 40; i++) {
+            Block ore = ores[random.nextInt(ores.length)];
+            int x = random.nextInt(48), y = random.nextInt(3), z = random.nextInt(48);
+            for (int b = 0; b < 6; b++) {
+                helper.setBlock(Math.clamp(x, 0, 47), Math.clamp(y, 0, 2), Math.clamp(z, 0, 47), ore);
+                x += random.nextInt(3) - 1;
+                y += random.nextInt(3) - 1;
+                z += random.nextInt(3) - 1;
+            }
+        }
+
+        // Shielding walls between some of the veins and the players
+        Block[] walls = {Blocks.OBSIDIAN, Blocks.IRON_BLOCK, Blocks.COBBLESTONE};
+        for (int i = 0; i < 12; i++) {
+            Block wall = walls[random.nextInt(walls.length)];
+            boolean alongX = random.nextBoolean();
+            int x = random.nextInt(40), z = random.nextInt(40);
+            for (int l = 0; l < 8; l++) {
+                for (int h = 1; h < 4; h++) {
+                    helper.setBlock(alongX ? x + l : x, h, alongX ? z : z + l, wall);
+                }
+            }
+        }
+
+        run(helper, "ore_veins_" + players, helper.getLevel(), helper.absolutePos(AREA_MIN), helper.absolutePos(AREA_MAX), players,
+                isRadioactive(CompiledRadiationConfig.get().blockRadiation()));
+    }
+
+    private static void biome(GameTestHelper helper, int players) {
+        ServerLevel level = helper.getLevel();
+        BlockPos min = helper.absolutePos(BlockPos.ZERO);
+        BlockPos max = helper.absolutePos(new BlockPos(47, 11, 47));
+        FillBiomeCommand.fill(level, min, max, level.registryAccess().registryOrThrow(Registries.BIOME).getHolderOrThrow(Biomes.DESERT));
+
+        run(helper, "biome_" + players, level, helper.absolutePos(AREA_MIN), helper.absolutePos(AREA_MAX), players,
+                isRadioactive(CompiledRadiationConfig.get().biomeRadiation()));
+    }
+
+    private static void dimension(GameTestHelper helper, int players) {
+        ServerLevel nether = helper.getLevel().getServer().getLevel(Level.NETHER);
+        if (nether == null) {
+            helper.fail("The Nether is not loaded");
+            return;
+        }
+
+        // Keep the chunks the players walk around in loaded, since fake players don't load any.
+        // Each player count gets its own area, as tests in the same batch run at the same time.
+        BlockPos min = new BlockPos(players * 16, 64, 0);
+        BlockPos max = min.offset(47, 0, 47);
+        ChunkPos minChunk = new ChunkPos(min);
+        ChunkPos maxChunk = new ChunkPos(max);
+        setChunksForced(nether, minChunk, maxChunk, true);
+
+        RadiationLoadHarness harness = RadiationLoadHarness.spawn("dimension_" + players, nether, min, max, players);
+        helper.startSequence()
+                .thenExecuteFor(RadiationLoadHarness.TOTAL_TICKS, harness::tick)
+                .thenExecute(() -> {
+                    setChunksForced(nether, minChunk, maxChunk, false);
+                    harness.finish(helper, isRadioactive(CompiledRadiationConfig.get().dimensionRadiation()));
+                })
+                .thenSucceed();
+    }
+
+    private static void run(GameTestHelper helper, String scenario, ServerLevel level, BlockPos min, BlockPos max, int players,
+                            boolean expectExposure) {
+        RadiationLoadHarness harness = RadiationLoadHarness.spawn(scenario, level, min, max, players);
+        helper.startSequence()
+                .thenExecuteFor(RadiationLoadHarness.TOTAL_TICKS, harness::tick)
+                .thenExecute(() -> harness.finish(helper, expectExposure))
+                .thenSucceed();
+    }
+
+    /**
+     * @param sourceEnabled Whether the scenario's kind of radiation is enabled
+     * @return Whether players in the scenario should gain exposure with the current config
+     */
+    private static boolean isRadioactive(boolean sourceEnabled) {
+        CompiledRadiationConfig config = CompiledRadiationConfig.get();
+        return sourceEnabled && config.environmentalRadiation() && config.dynamicRadiation();
+    }
+
+    private static void setChunksForced(ServerLevel level, ChunkPos min, ChunkPos max, boolean forced) {
+        for (int x = min.x; x <= max.x; x++) {
+            for (int z = min.z; z <= max.z; z++) {
+                level.setChunkForced(x, z, forced);
+                if (forced) {
+                    level.getChunk(x, z);
+                }
+            }
+        }
+    }
+}
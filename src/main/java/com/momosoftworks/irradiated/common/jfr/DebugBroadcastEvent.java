@@ -0,0 +1,38 @@
+package com.momosoftworks.irradiated.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One update broadcast to the debug dashboard's clients, from encoding it to queueing it for the last client.
+ */
+@Name("irradiated.DebugBroadcast")
+@Label("Radiation Debug Broadcast")
+@Category({"Irradiated", "Debug"})
+@Description("Radiation data serialized and sent to the debug dashboard")
+@Enabled(false)
+@StackTrace(false)
+public class DebugBroadcastEvent extends Event {
+
+    @Label("Players")
+    public int players;
+
+    @Label("Clients")
+    public int clients;
+
+    @Label("Text Size")
+    @Description("Size of the update sent to clients that want text, zero if there were none")
+    @DataAmount
+    public int textBytes;
+
+    @Label("Binary Size")
+    @Description("Size of the update sent to clients that want binary, zero if there were none")
+    @DataAmount
+    public int binaryBytes;
+}
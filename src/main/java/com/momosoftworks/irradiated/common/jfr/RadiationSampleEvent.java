@@ -0,0 +1,47 @@
+package com.momosoftworks.irradiated.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A player's environment being sampled for radiation, linking players and locations to the scans they cause.
+ *
+ * <p>All Irradiated events are off by default. Enable them for a recording with, for example,
+ * {@code -XX:StartFlightRecording:+irradiated.RadiationSample#enabled=true,+irradiated.BlockScan#enabled=true}.</p>
+ */
+@Name("irradiated.RadiationSample")
+@Label("Radiation Sample")
+@Category({"Irradiated", "Radiation"})
+@Description("Biome, dimension and block radiation sampled for a player")
+@Enabled(false)
+@StackTrace(false)
+public class RadiationSampleEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Z")
+    public int z;
+
+    @Label("Async")
+    @Description("Whether the block scan was handed to a worker thread")
+    public boolean async;
+
+    @Label("Intensity")
+    @Description("Per-tick intensity sampled from the biome and dimension, plus blocks unless the scan is async")
+    public float intensity;
+}
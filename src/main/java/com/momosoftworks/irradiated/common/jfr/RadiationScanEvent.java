@@ -0,0 +1,52 @@
+package com.momosoftworks.irradiated.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A block radiation scan around one position.
+ * Off unless enabled in the recording's settings, see {@link RadiationSampleEvent}.
+ */
+@Name("irradiated.BlockScan")
+@Label("Radiation Block Scan")
+@Category({"Irradiated", "Radiation"})
+@Description("Scan of the indexed radiation sources around a receiving position")
+@Enabled(false)
+@StackTrace(false)
+public class RadiationScanEvent extends Event {
+
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Z")
+    public int z;
+
+    @Label("Range")
+    @Description("Half-size of the scanned cube in blocks")
+    public int range;
+
+    @Label("Sections Visited")
+    public int sectionsVisited;
+
+    @Label("Blocks Scanned")
+    @Description("Indexed source positions checked, including ones outside the cube")
+    public int blocksScanned;
+
+    @Label("Sources Found")
+    public int sourcesFound;
+
+    @Label("Shielding Rays")
+    public int shieldingRays;
+
+    @Label("Intensity")
+    @Description("Summed per-tick intensity of all sources found")
+    public float intensity;
+}
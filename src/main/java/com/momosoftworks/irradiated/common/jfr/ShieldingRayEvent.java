@@ -0,0 +1,51 @@
+package com.momosoftworks.irradiated.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One shielding ray traced from a source to a receiver.
+ * Rays are traced thousands of times per second, so this is best enabled with a threshold.
+ */
+@Name("irradiated.ShieldingRay")
+@Label("Radiation Shielding Ray")
+@Category({"Irradiated", "Radiation"})
+@Description("Shielding ray traced between a radiation source and a receiver")
+@Enabled(false)
+@StackTrace(false)
+public class ShieldingRayEvent extends Event {
+
+    @Label("Source X")
+    public int sourceX;
+
+    @Label("Source Y")
+    public int sourceY;
+
+    @Label("Source Z")
+    public int sourceZ;
+
+    @Label("Receiver X")
+    public int receiverX;
+
+    @Label("Receiver Y")
+    public int receiverY;
+
+    @Label("Receiver Z")
+    public int receiverZ;
+
+    @Label("Ray Length")
+    @Description("Distance between the source and the receiver in blocks")
+    public double rayLength;
+
+    @Label("Blocks Crossed")
+    public int blocksCrossed;
+
+    @Label("Total Shielding")
+    @Description("Summed shielding percentage of the crossed blocks")
+    public double totalShielding;
+}
@@ -0,0 +1,18 @@
+package com.momosoftworks.irradiated.common.network;
+
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+import net.neoforged.neoforge.network.registration.PayloadRegistrar;
+
+/**
+ * Registers the mod's network payloads.
+ */
+public class RadiationNetwork {
+
+    // Bump when a payload's format changes
+    private static final String PROTOCOL_VERSION = "1";
+
+    public static void onRegisterPayloads(RegisterPayloadHandlersEvent event) {
+        PayloadRegistrar registrar = event.registrar(PROTOCOL_VERSION);
+        registrar.playToClient(RadiationSyncPayload.TYPE, RadiationSyncPayload.STREAM_CODEC, RadiationSyncPayload::handle);
+    }
+}
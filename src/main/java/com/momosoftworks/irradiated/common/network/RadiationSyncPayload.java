@@ -0,0 +1,46 @@
+package com.momosoftworks.irradiated.common.network;
+
+import com.momosoftworks.irradiated.Irradiated;
+import com.momosoftworks.irradiated.common.radiation.RadiationClientSync;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Sends a player's exact radiation state to their client for the HUD.
+ *
+ * @param exposure Current radiation exposure (0.0 to 100.0)
+ * @param trend Smoothed change in exposure per second
+ * @param sources Bit mask of the kinds of sources the player is exposed to ({@link #SOURCE_BIOME} etc.)
+ * @param blockSources Number of radioactive blocks found in range
+ */
+public record RadiationSyncPayload(float exposure, float trend, int sources, int blockSources) implements CustomPacketPayload {
+
+    public static final int SOURCE_BIOME = 1;
+    public static final int SOURCE_DIMENSION = 2;
+    public static final int SOURCE_BLOCK = 4;
+
+    public static final Type<RadiationSyncPayload> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(Irradiated.MOD_ID, "radiation_sync"));
+
+    public static final StreamCodec<ByteBuf, RadiationSyncPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.FLOAT, RadiationSyncPayload::exposure,
+            ByteBufCodecs.FLOAT, RadiationSyncPayload::trend,
+            ByteBufCodecs.VAR_INT, RadiationSyncPayload::sources,
+            ByteBufCodecs.VAR_INT, RadiationSyncPayload::blockSources,
+            RadiationSyncPayload::new);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    /**
+     * Store the received state on the client's player (runs on the client's main thread)
+     */
+    public static void handle(RadiationSyncPayload payload, IPayloadContext context) {
+        RadiationClientSync.onSyncReceived(context.player(), payload);
+    }
+}
@@ -0,0 +1,125 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.neoforged.fml.event.config.ModConfigEvent;
+import net.neoforged.neoforge.common.ModConfigSpec;
+
+/**
+ * Snapshot of the radiation config values read while ticking players.
+ *
+ * <p>Reading a {@code ModConfigSpec} value goes through the config's backing map on every
+ * call, so the values used every tick are copied into plain final fields instead. A new
+ * snapshot is built whenever the config is loaded or reloaded and published through a
+ * volatile reference, so a reader always sees one complete, consistent set of values.</p>
+ *
+ * <p>Tick-based values are converted from the config's seconds up front.</p>
+ */
+public record CompiledRadiationConfig(
+        // Environmental radiation
+        boolean environmentalRadiation,
+        boolean biomeRadiation,
+        boolean dimensionRadiation,
+        boolean blockRadiation,
+        // Block radiation
+        int blockRadiationRange,
+        RadiationFalloff falloff,
+        double exponentialFalloffLength,
+        boolean shareRadiationField,
+        boolean asyncBlockRadiation,
+        int asyncWorkerThreads,
+        // Shielding
+        boolean shielding,
+        int shieldingCacheSize,
+        // Armor
+        boolean armorProtection,
+        float armorProtectionPerPoint,
+        // Dynamic radiation
+        boolean dynamicRadiation,
+        float buildupRate,
+        float decayRate,
+        int decayDelayTicks,
+        int minSampleInterval,
+        int maxSampleInterval,
+        // Water decontamination
+        boolean waterDecontamination,
+        float waterBuildupReduction,
+        int waterDecayIntervalTicks,
+        float waterDecontaminationPerTick) {
+
+    private static volatile CompiledRadiationConfig current;
+
+    /**
+     * Get the current snapshot, building it from the config if it hasn't been built yet
+     */
+    public static CompiledRadiationConfig get() {
+        CompiledRadiationConfig config = current;
+        if (config == null) {
+            config = compile(false);
+            current = config;
+        }
+        return config;
+    }
+
+    /**
+     * Build a snapshot of the config's default values. Works before the config is loaded.
+     */
+    public static CompiledRadiationConfig defaults() {
+        return compile(true);
+    }
+
+    /**
+     * Use a fixed snapshot until the config is next loaded or reloaded (for benchmarks run without a game)
+     */
+    static void set(CompiledRadiationConfig config) {
+        current = config;
+    }
+
+    /**
+     * Rebuild the snapshot after the radiation config is loaded or changed on disk
+     */
+    public static void onConfigChanged(ModConfigEvent event) {
+        if (event.getConfig().getSpec() == RadiationConfig.SPEC) {
+            recompile();
+        }
+    }
+
+    /**
+     * Rebuild the snapshot from the config's current values, e.g. after a GameTest changed them in code
+     */
+    public static void recompile() {
+        current = compile(false);
+    }
+
+    private static CompiledRadiationConfig compile(boolean defaults) {
+        int minSampleInterval = read(RadiationConfig.MIN_SAMPLE_INTERVAL, defaults);
+        return new CompiledRadiationConfig(
+                read(RadiationConfig.ENABLE_ENVIRONMENTAL_RADIATION, defaults),
+                read(RadiationConfig.ENABLE_BIOME_RADIATION, defaults),
+                read(RadiationConfig.ENABLE_DIMENSION_RADIATION, defaults),
+                read(RadiationConfig.ENABLE_BLOCK_RADIATION, defaults),
+                read(RadiationConfig.BLOCK_RADIATION_RANGE, defaults),
+                read(RadiationConfig.BLOCK_RADIATION_FALLOFF, defaults),
+                read(RadiationConfig.EXPONENTIAL_FALLOFF_LENGTH, defaults),
+                read(RadiationConfig.SHARE_RADIATION_FIELD, defaults),
+                read(RadiationConfig.ASYNC_BLOCK_RADIATION, defaults),
+                read(RadiationConfig.ASYNC_WORKER_THREADS, defaults),
+                read(RadiationConfig.ENABLE_RADIATION_SHIELDING, defaults),
+                read(RadiationConfig.SHIELDING_CACHE_SIZE, defaults),
+                read(RadiationConfig.ENABLE_ARMOR_PROTECTION, defaults),
+                read(RadiationConfig.ARMOR_PROTECTION_PER_POINT, defaults).floatValue(),
+                read(RadiationConfig.ENABLE_DYNAMIC_RADIATION, defaults),
+                read(RadiationConfig.RADIATION_BUILDUP_RATE, defaults).floatValue(),
+                read(RadiationConfig.RADIATION_DECAY_RATE, defaults).floatValue(),
+                read(RadiationConfig.RADIATION_DECAY_DELAY, defaults) * 20,
+                minSampleInterval,
+                Math.max(minSampleInterval, read(RadiationConfig.MAX_SAMPLE_INTERVAL, defaults)),
+                read(RadiationConfig.ENABLE_WATER_DECONTAMINATION, defaults),
+                read(RadiationConfig.WATER_BUILDUP_REDUCTION, defaults).floatValue(),
+                // A delay of 0 means decaying every tick
+                Math.max(1, read(RadiationConfig.WATER_DECAY_DELAY_SECONDS, defaults) * 20),
+                read(RadiationConfig.WATER_ACTIVE_DECONTAMINATION_RATE, defaults).floatValue() / 20.0f);
+    }
+
+    private static <T> T read(ModConfigSpec.ConfigValue<T> value, boolean defaults) {
+        return defaults ? value.getDefault() : value.get();
+    }
+}
@@ -0,0 +1,73 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.Level;
+
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A player's dynamic radiation state, stored as a data attachment on the player.
+ *
+ * <p>Only the exposure and override state are saved; everything else is sampling, caching
+ * and sync state that is rebuilt after loading. On the client, the exposure, trend and
+ * sources are filled in by {@link RadiationClientSync}.</p>
+ *
+ * @see com.momosoftworks.irradiated.core.init.ModAttachments#RADIATION_DATA
+ */
+public class DynamicRadiationData {
+
+    public static final Codec<DynamicRadiationData> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.FLOAT.optionalFieldOf("currentExposure", 0.0f).forGetter(data -> data.currentExposure),
+            Codec.INT.optionalFieldOf("timeSinceLastExposure", 0).forGetter(data -> data.timeSinceLastExposure),
+            Codec.BOOL.optionalFieldOf("manuallyOverridden", false).forGetter(data -> data.manuallyOverridden),
+            Codec.INT.optionalFieldOf("overrideDuration", 0).forGetter(data -> data.overrideDuration)
+    ).apply(instance, DynamicRadiationData::new));
+
+    float currentExposure = 0.0f;     // Current radiation exposure level
+    int timeSinceLastExposure = 0;    // Ticks since last radiation source contact
+    boolean manuallyOverridden = false; // True if radiation was set manually via API
+    int overrideDuration = 0;         // Ticks remaining for manual override
+    RadiationBlockScanner.ScanResult lastBlockScan = null; // Most recent block scan (not saved)
+    final RadiationSampler.State sampler = new RadiationSampler.State(); // Environment sampling state (not saved)
+    ForkJoinTask<RadiationBlockScanner.ScanResult> pendingBlockScan = null; // Running async block scan (not saved)
+    float pendingIntensity = 0.0f;    // Biome and dimension intensity of the sample waiting on the async scan
+    float pendingMaxExposure = 0.0f;  // Biome and dimension max exposure of the sample waiting on the async scan
+    Level pendingLevel = null;        // Level the async scan was started in
+    EnvironmentRadiation biomeRadiation = null; // Radiation of the biome cell last looked up (not saved)
+    long biomeQuart;                  // Biome cell (quart) position of the last lookup
+    Level biomeLevel = null;          // Level of the last lookup
+    RadiationBiomeTable biomeTable = null; // Table used for the last lookup
+    float exposureTrend = 0.0f;       // Smoothed change in exposure per second (not saved)
+    int activeSources = 0;            // Kinds of sources in the last sample, see RadiationSyncPayload (not saved)
+    int blockSourceCount = 0;         // Radioactive blocks found in the last sample (not saved)
+    int pendingSources = 0;           // Biome and dimension sources of the sample waiting on the async scan
+    boolean synced = false;           // Whether the client has been sent this data yet
+    Level syncedLevel = null;         // Level the player was in at the last sync
+    float syncedExposure;             // Values sent in the last sync
+    float syncedTrend;
+    int syncedSources;
+    int syncedBlockSources;
+    long lastSyncTick;
+
+    public DynamicRadiationData() {
+    }
+
+    private DynamicRadiationData(float currentExposure, int timeSinceLastExposure, boolean manuallyOverridden, int overrideDuration) {
+        this.currentExposure = currentExposure;
+        this.timeSinceLastExposure = timeSinceLastExposure;
+        this.manuallyOverridden = manuallyOverridden;
+        this.overrideDuration = overrideDuration;
+    }
+
+    /**
+     * Load the exposure and override state from the NBT format used before radiation data was an attachment
+     */
+    void loadFromLegacyNBT(CompoundTag tag) {
+        currentExposure = tag.getFloat("currentExposure");
+        timeSinceLastExposure = tag.getInt("timeSinceLastExposure");
+        manuallyOverridden = tag.getBoolean("manuallyOverridden");
+        overrideDuration = tag.getInt("overrideDuration");
+    }
+}
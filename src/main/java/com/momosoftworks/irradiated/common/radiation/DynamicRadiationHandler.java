@@ -1,20 +1,16 @@
 package com.momosoftworks.irradiated.common.radiation;
 
 import com.momosoftworks.irradiated.api.radiation.RadiationAPI;
+import com.momosoftworks.irradiated.common.jfr.RadiationSampleEvent;
+import com.momosoftworks.irradiated.common.network.RadiationSyncPayload;
+import com.momosoftworks.irradiated.core.init.ModAttachments;
 import com.momosoftworks.irradiated.core.init.ModEffects;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.Holder;
-import net.minecraft.core.registries.Registries;
-import net.minecraft.resources.ResourceLocation;
+import net.minecraft.core.QuartPos;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.biome.Biome;
-import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.Blocks;
-import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.nbt.CompoundTag;
 import net.neoforged.neoforge.event.tick.PlayerTickEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
@@ -22,11 +18,6 @@ import net.neoforged.neoforge.event.entity.living.LivingDeathEvent;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
-
 /**
  * Dynamic radiation system similar to Cold Sweat's temperature.
  * Radiation gradually builds up when near sources and slowly decays over time.
@@ -35,97 +26,15 @@ import java.util.UUID;
 @EventBusSubscriber
 public class DynamicRadiationHandler {
     
-    // Dynamic radiation data for each player
-    private static final Map<UUID, DynamicRadiationData> PLAYER_RADIATION_DATA = new HashMap<>();
-    
-    // Track player game modes to detect switches
-    private static final Map<UUID, GameType> PLAYER_GAME_MODES = new HashMap<>();
-    
-    // Radiation source configurations
-    private static final Map<String, RadiationSource> BIOME_SOURCES = new HashMap<>();
-    private static final Map<String, RadiationSource> DIMENSION_SOURCES = new HashMap<>();
-    private static final Map<Block, RadiationSource> BLOCK_SOURCES = new HashMap<>();
-    
-    // Cached per-block radiation values from config
-    private static final Map<String, BlockRadiationData> BLOCK_RADIATION_VALUES = new HashMap<>();
-    
-    // Cached shielding values from config
-    private static final Map<String, Double> SHIELDING_VALUES = new HashMap<>();
-    
-    // Flag to track if radiation sources have been initialized
-    private static boolean sourcesInitialized = false;
-    
-    /**
-     * Ensure radiation sources are initialized (lazy initialization)
-     */
-    private static void ensureSourcesInitialized() {
-        if (!sourcesInitialized) {
-            initializeRadiationSources();
-            sourcesInitialized = true;
-        }
-    }
-    
-    private static void initializeRadiationSources() {
-        // These will be calculated dynamically at runtime, not during static initialization
-        // Biome radiation sources - using placeholder values
-        BIOME_SOURCES.put("minecraft:desert", new RadiationSource(0.001f, 100.0f, 0, 0.1f));
-        BIOME_SOURCES.put("minecraft:badlands", new RadiationSource(0.001f, 100.0f, 0, 0.1f));
-        BIOME_SOURCES.put("minecraft:mushroom_fields", new RadiationSource(0.001f, 100.0f, 0, 0.08f));
-        
-        // Dimension radiation sources  
-        DIMENSION_SOURCES.put("minecraft:the_nether", new RadiationSource(0.001f, 100.0f, 0, 0.12f));
-        
-        // Parse per-block radiation values from config
-        parseBlockRadiationValues();
-        
-        // Parse shielding values from config
-        parseShieldingValues();
-    }
-    
-    private static void parseBlockRadiationValues() {
-        BLOCK_RADIATION_VALUES.clear();
-        List<? extends String> blockValues = RadiationConfig.RADIOACTIVE_BLOCKS.get();
-        for (String entry : blockValues) {
-            String[] parts = entry.split(":");
-            if (parts.length >= 4) {
-                String blockId = parts[0] + ":" + parts[1];
-                try {
-                    double chance = Double.parseDouble(parts[2]);
-                    int maxLevel = Integer.parseInt(parts[3]);
-                    BLOCK_RADIATION_VALUES.put(blockId, new BlockRadiationData(chance, maxLevel));
-                } catch (NumberFormatException e) {
-                    // Invalid format, skip this entry
-                }
-            }
-        }
-    }
+    // Persistent data key radiation was saved under before it became an attachment
+    private static final String LEGACY_DATA_KEY = "irradiated:dynamicRadiation";
     
-    private static void parseShieldingValues() {
-        SHIELDING_VALUES.clear();
-        List<? extends String> shieldingEntries = RadiationConfig.SHIELDING_BLOCKS.get();
-        for (String entry : shieldingEntries) {
-            String[] parts = entry.split(":");
-            if (parts.length >= 3) {
-                String blockId = parts[0] + ":" + parts[1];
-                try {
-                    double shielding = Double.parseDouble(parts[2]);
-                    SHIELDING_VALUES.put(blockId, shielding);
-                } catch (NumberFormatException e) {
-                    // Invalid format, skip this entry
-                }
-            }
-        }
-    }
+    // Duration of the radiation effect, and the remaining duration at which it is refreshed
+    private static final int EFFECT_DURATION_TICKS = 100;
+    private static final int EFFECT_REFRESH_TICKS = 40;
     
-    private static class BlockRadiationData {
-        final double chancePerSecond;
-        final int maxLevel;
-        
-        BlockRadiationData(double chancePerSecond, int maxLevel) {
-            this.chancePerSecond = chancePerSecond;
-            this.maxLevel = maxLevel;
-        }
-    }
+    // Weight of the latest tick in the smoothed exposure trend
+    private static final float TREND_SMOOTHING = 0.1f;
     
     @SubscribeEvent
     public static void onPlayerTick(PlayerTickEvent.Post event) {
@@ -134,298 +43,205 @@ public class DynamicRadiationHandler {
             return;
         }
         
-        // Ensure radiation sources are initialized before first use
-        ensureSourcesInitialized();
-        
-        // Track player game mode for future use
-        UUID playerId = player.getUUID();
-        GameType currentGameMode = ((ServerPlayer) player).gameMode.getGameModeForPlayer();
-        PLAYER_GAME_MODES.put(playerId, currentGameMode);
-        
+        long start = RadiationProfiler.start();
+        tickPlayer(player);
+        RadiationProfiler.end(RadiationProfiler.Stage.PLAYER_TICK, start);
+    }
+    
+    private static void tickPlayer(Player player) {
         // Check every tick for smooth radiation changes
-        if (!RadiationConfig.ENABLE_ENVIRONMENTAL_RADIATION.get() || !RadiationConfig.ENABLE_DYNAMIC_RADIATION.get()) {
+        CompiledRadiationConfig config = CompiledRadiationConfig.get();
+        // Attached to the player and saved with it
+        DynamicRadiationData data = player.getData(ModAttachments.RADIATION_DATA);
+        long tick = ((ServerPlayer) player).server.getTickCount();
+        if (!config.environmentalRadiation() || !config.dynamicRadiation()) {
+            // Commands and items still change exposure, which the HUD has to show
+            RadiationClientSync.sync((ServerPlayer) player, data, tick);
             return;
         }
         
-        // Periodic save every 5 minutes (6000 ticks) to prevent data loss
-        if (player.tickCount % 6000 == 0) {
-            savePlayerRadiationData(player);
-        }
-        
-        DynamicRadiationData data = PLAYER_RADIATION_DATA.computeIfAbsent(playerId, k -> new DynamicRadiationData());
-        
-        // Calculate radiation exposure from all sources
-        float totalRadiationIntensity = 0.0f;
-        float maxPossibleExposure = 0.0f;
-        
-        // Check biome radiation
-        if (RadiationConfig.ENABLE_BIOME_RADIATION.get()) {
-            float biomeIntensity = getBiomeRadiationIntensity(player);
-            float biomeMaxExposure = getBiomeMaxExposure(player);
-            totalRadiationIntensity += biomeIntensity;
-            maxPossibleExposure = Math.max(maxPossibleExposure, biomeMaxExposure);
-        }
-        
-        // Check dimension radiation
-        if (RadiationConfig.ENABLE_DIMENSION_RADIATION.get()) {
-            float dimIntensity = getDimensionRadiationIntensity(player);
-            float dimMaxExposure = getDimensionMaxExposure(player);
-            totalRadiationIntensity += dimIntensity;
-            maxPossibleExposure = Math.max(maxPossibleExposure, dimMaxExposure);
-        }
-        
-        // Check block radiation
-        if (RadiationConfig.ENABLE_BLOCK_RADIATION.get()) {
-            float blockIntensity = getBlockRadiationIntensity(player);
-            float blockMaxExposure = getBlockMaxExposure(player);
-            totalRadiationIntensity += blockIntensity;
-            maxPossibleExposure = Math.max(maxPossibleExposure, blockMaxExposure);
+        // Sample the environment every few ticks and interpolate in between
+        int blockRange = config.blockRadiationRange();
+        if (data.pendingBlockScan != null) {
+            // Waiting on a worker; apply the sample once its block scan is done
+            if (data.pendingBlockScan.isDone()) {
+                finishAsyncSample(player, data, config, tick, blockRange);
+            }
+        } else if (RadiationSampler.shouldSample(player, data.sampler, config, tick, blockRange)) {
+            RadiationSampleEvent event = new RadiationSampleEvent();
+            event.begin();
+            sampleEnvironment(player, data, config, tick, blockRange);
+            event.end();
+            if (event.shouldCommit()) {
+                commitSampleEvent(event, player, data);
+            }
         }
+        float totalRadiationIntensity = RadiationSampler.getIntensity(data.sampler, tick);
+        float maxPossibleExposure = data.sampler.maxExposure;
         
         // Apply radiation resistance
         totalRadiationIntensity = applyRadiationResistance(player, totalRadiationIntensity);
         
         // Apply armor protection
-        totalRadiationIntensity = applyArmorProtection(player, totalRadiationIntensity);
+        long start = RadiationProfiler.start();
+        totalRadiationIntensity = applyArmorProtection(player, config, totalRadiationIntensity);
+        RadiationProfiler.end(RadiationProfiler.Stage.ARMOR, start);
         
         // Update dynamic radiation
-        updateDynamicRadiation(player, data, totalRadiationIntensity, maxPossibleExposure);
+        float previousExposure = data.currentExposure;
+        start = RadiationProfiler.start();
+        updateDynamicRadiation(player, data, config, totalRadiationIntensity, maxPossibleExposure);
+        RadiationProfiler.end(RadiationProfiler.Stage.DECAY, start);
+        float exposurePerSecond = (data.currentExposure - previousExposure) * 20.0f;
+        data.exposureTrend += (exposurePerSecond - data.exposureTrend) * TREND_SMOOTHING;
+        
+        // Keep the client's HUD up to date
+        RadiationClientSync.sync((ServerPlayer) player, data, tick);
         
         // Apply radiation effect to player every 20 ticks (1 second)
         if (player.tickCount % 20 == 0) {
+            start = RadiationProfiler.start();
             applyRadiationEffect(player, data);
+            RadiationProfiler.end(RadiationProfiler.Stage.EFFECT_APPLY, start);
         }
     }
     
-    private static float getBiomeRadiationIntensity(Player player) {
-        Biome biome = player.level().getBiome(player.blockPosition()).value();
-        ResourceLocation biomeLocation = player.level().registryAccess()
-                .registryOrThrow(Registries.BIOME)
-                .getKey(biome);
+    /**
+     * Measure radiation from all environmental sources around the player and record it as a new sample
+     */
+    private static void sampleEnvironment(Player player, DynamicRadiationData data, CompiledRadiationConfig config, long tick, int blockRange) {
+        float totalRadiationIntensity = 0.0f;
+        float maxPossibleExposure = 0.0f;
+        int sources = 0;
         
-        if (biomeLocation == null) {
-            return 0.0f;
+        // Check biome radiation
+        if (config.biomeRadiation()) {
+            long start = RadiationProfiler.start();
+            EnvironmentRadiation biomeRadiation = getBiomeRadiation(player, data);
+            RadiationProfiler.end(RadiationProfiler.Stage.BIOME, start);
+            totalRadiationIntensity += biomeRadiation.intensity;
+            maxPossibleExposure = Math.max(maxPossibleExposure, biomeRadiation.maxExposure);
+            if (biomeRadiation.intensity > 0) {
+                sources |= RadiationSyncPayload.SOURCE_BIOME;
+            }
         }
         
-        String biomeName = biomeLocation.toString();
-        
-        // Use config values to determine radiation intensity
-        float configChance = 0.0f;
-        if (biomeName.contains("desert")) {
-            configChance = RadiationConfig.DESERT_RADIATION_CHANCE.get().floatValue();
-        } else if (biomeName.contains("badlands") || biomeName.contains("mesa")) {
-            configChance = RadiationConfig.BADLANDS_RADIATION_CHANCE.get().floatValue();
-        } else if (biomeName.contains("mushroom")) {
-            configChance = RadiationConfig.MUSHROOM_RADIATION_CHANCE.get().floatValue();
+        // Check dimension radiation
+        if (config.dimensionRadiation()) {
+            long start = RadiationProfiler.start();
+            EnvironmentRadiation dimensionRadiation = RadiationDimensionTable.get().get(player.level().dimension());
+            RadiationProfiler.end(RadiationProfiler.Stage.DIMENSION, start);
+            totalRadiationIntensity += dimensionRadiation.intensity;
+            maxPossibleExposure = Math.max(maxPossibleExposure, dimensionRadiation.maxExposure);
+            if (dimensionRadiation.intensity > 0) {
+                sources |= RadiationSyncPayload.SOURCE_DIMENSION;
+            }
         }
         
-        if (configChance > 0) {
-            // Convert config chance (per second) to per-tick intensity
-            return configChance / 20.0f; // 20 ticks per second
+        // Check block radiation (single pass for intensity and max exposure)
+        if (config.blockRadiation() && config.asyncBlockRadiation()) {
+            // Scan on a worker; the sample is recorded once the scan is done
+            long start = RadiationProfiler.start();
+            data.pendingBlockScan = RadiationFieldCache.scanAsync(player.level(), player.blockPosition(),
+                    blockRange, config.shielding(), tick);
+            RadiationProfiler.end(RadiationProfiler.Stage.BLOCK_SCAN, start);
+            data.pendingIntensity = totalRadiationIntensity;
+            data.pendingMaxExposure = maxPossibleExposure;
+            data.pendingSources = sources;
+            data.pendingLevel = player.level();
+            return;
+        } else if (config.blockRadiation()) {
+            long start = RadiationProfiler.start();
+            RadiationBlockScanner.ScanResult blockScan = RadiationFieldCache.scan(player.level(), player.blockPosition(),
+                    blockRange, config.shielding(), tick);
+            RadiationProfiler.end(RadiationProfiler.Stage.BLOCK_SCAN, start);
+            totalRadiationIntensity += blockScan.totalIntensity;
+            maxPossibleExposure = Math.max(maxPossibleExposure, blockScan.maxExposure);
+            data.lastBlockScan = blockScan;
+        } else {
+            data.lastBlockScan = null;
         }
         
-        return 0.0f;
+        recordSources(data, sources, data.lastBlockScan);
+        RadiationSampler.recordSample(player, data.sampler, config, tick, blockRange, totalRadiationIntensity, maxPossibleExposure);
     }
     
-    private static float getBiomeMaxExposure(Player player) {
-        Biome biome = player.level().getBiome(player.blockPosition()).value();
-        ResourceLocation biomeLocation = player.level().registryAccess()
-                .registryOrThrow(Registries.BIOME)
-                .getKey(biome);
-        
-        if (biomeLocation == null) {
-            return 0.0f;
-        }
-        
-        String biomeName = biomeLocation.toString();
-        
-        // Use config values directly (already on 1-100 scale)
-        if (biomeName.contains("desert")) {
-            return RadiationConfig.DESERT_MAX_LEVEL.get().floatValue();
-        } else if (biomeName.contains("badlands") || biomeName.contains("mesa")) {
-            return RadiationConfig.BADLANDS_MAX_LEVEL.get().floatValue();
-        } else if (biomeName.contains("mushroom")) {
-            return RadiationConfig.MUSHROOM_MAX_LEVEL.get().floatValue();
+    /**
+     * Combine a finished async block scan with the rest of the sample taken when it was started
+     */
+    private static void finishAsyncSample(Player player, DynamicRadiationData data, CompiledRadiationConfig config, long tick, int blockRange) {
+        RadiationBlockScanner.ScanResult blockScan = RadiationAsyncScanner.getResult(data.pendingBlockScan);
+        data.pendingBlockScan = null;
+        if (player.level() != data.pendingLevel) {
+            // Changed dimension while scanning; the result is for the wrong level
+            data.pendingLevel = null;
+            return;
         }
+        data.pendingLevel = null;
+        data.lastBlockScan = blockScan;
         
-        return 0.0f;
-    }
-    
-    private static float getDimensionMaxExposure(Player player) {
-        ResourceLocation dimensionLocation = player.level().dimension().location();
-        String dimensionName = dimensionLocation.toString();
-        
-        // Use config values directly (already on 1-100 scale)
-        if (dimensionName.equals("minecraft:the_nether")) {
-            return RadiationConfig.NETHER_MAX_LEVEL.get().floatValue();
+        float totalRadiationIntensity = data.pendingIntensity;
+        float maxPossibleExposure = data.pendingMaxExposure;
+        if (blockScan != null) {
+            totalRadiationIntensity += blockScan.totalIntensity;
+            maxPossibleExposure = Math.max(maxPossibleExposure, blockScan.maxExposure);
         }
         
-        return 0.0f;
+        recordSources(data, data.pendingSources, blockScan);
+        RadiationSampler.recordSample(player, data.sampler, config, tick, blockRange, totalRadiationIntensity, maxPossibleExposure);
     }
     
-    private static float getBlockMaxExposure(Player player) {
-        BlockPos playerPos = player.blockPosition();
-        Level world = player.level();
-        float maxExposure = 0.0f;
-        
-        // Get range from config
-        int range = RadiationConfig.BLOCK_RADIATION_RANGE.get();
-        
-        // Check blocks in range using config value
-        for (int x = -range; x <= range; x++) {
-            for (int y = -range; y <= range; y++) {
-                for (int z = -range; z <= range; z++) {
-                    BlockPos checkPos = playerPos.offset(x, y, z);
-                    BlockState blockState = world.getBlockState(checkPos);
-                    ResourceLocation blockId = net.minecraft.core.registries.BuiltInRegistries.BLOCK.getKey(blockState.getBlock());
-                    String blockIdString = blockId.toString();
-                    
-                    // Check if this block has radiation values configured
-                    BlockRadiationData radiationData = BLOCK_RADIATION_VALUES.get(blockIdString);
-                    if (radiationData != null) {
-                        maxExposure = Math.max(maxExposure, radiationData.maxLevel);
-                    }
-                }
-            }
-        }
-        
-        return maxExposure;
+    private static void commitSampleEvent(RadiationSampleEvent event, Player player, DynamicRadiationData data) {
+        event.player = player.getName().getString();
+        event.dimension = player.level().dimension().location().toString();
+        event.x = player.getBlockX();
+        event.y = player.getBlockY();
+        event.z = player.getBlockZ();
+        event.async = data.pendingBlockScan != null;
+        event.intensity = event.async ? data.pendingIntensity : data.sampler.currentIntensity;
+        event.commit();
     }
     
-    private static float getDimensionRadiationIntensity(Player player) {
-        ResourceLocation dimensionLocation = player.level().dimension().location();
-        String dimensionName = dimensionLocation.toString();
-        
-        // Use config values for Nether radiation
-        if (dimensionName.equals("minecraft:the_nether")) {
-            float netherChance = RadiationConfig.NETHER_RADIATION_CHANCE.get().floatValue();
-            // Make Nether radiation much more aggressive - multiply by 5 for faster buildup
-            // Convert config chance (per second) to per-tick intensity and boost it significantly
-            return (netherChance / 20.0f) * 5.0f; // 5x multiplier for Nether intensity
+    /**
+     * Remember which kinds of sources the latest sample found, for the client's HUD
+     */
+    private static void recordSources(DynamicRadiationData data, int sources, RadiationBlockScanner.ScanResult blockScan) {
+        int blockSources = blockScan != null ? blockScan.sources.size() : 0;
+        if (blockSources > 0) {
+            sources |= RadiationSyncPayload.SOURCE_BLOCK;
         }
-        
-        return 0.0f;
+        data.activeSources = sources;
+        data.blockSourceCount = blockSources;
     }
     
-    private static float getBlockRadiationIntensity(Player player) {
-        BlockPos playerPos = player.blockPosition();
-        Level world = player.level();
-        float totalIntensity = 0.0f;
-        
-        // Get range from config
-        int range = RadiationConfig.BLOCK_RADIATION_RANGE.get();
-        
-        // Check if shielding is enabled
-        boolean shieldingEnabled = RadiationConfig.ENABLE_RADIATION_SHIELDING.get();
-        
-        // Check blocks in range using config value
-        for (int x = -range; x <= range; x++) {
-            for (int y = -range; y <= range; y++) {
-                for (int z = -range; z <= range; z++) {
-                    BlockPos checkPos = playerPos.offset(x, y, z);
-                    BlockState blockState = world.getBlockState(checkPos);
-                    ResourceLocation blockId = net.minecraft.core.registries.BuiltInRegistries.BLOCK.getKey(blockState.getBlock());
-                    String blockIdString = blockId.toString();
-                    
-                    // Check if this block has radiation values configured
-                    BlockRadiationData radiationData = BLOCK_RADIATION_VALUES.get(blockIdString);
-                    if (radiationData != null) {
-                        double distance = Math.sqrt(x * x + y * y + z * z);
-                        
-                        // Get per-block intensity
-                        float baseIntensity = (float) radiationData.chancePerSecond / 20.0f;
-                        
-                        // Intensity decreases with distance
-                        float adjustedIntensity = baseIntensity * (1.0f - (float)(distance / (range * 1.2)));
-                        adjustedIntensity = Math.max(0, adjustedIntensity);
-                        
-                        // Apply shielding reduction if enabled
-                        if (shieldingEnabled && adjustedIntensity > 0) {
-                            float shieldingReduction = calculateShieldingReduction(world, checkPos, playerPos);
-                            adjustedIntensity *= (1.0f - shieldingReduction);
-                        }
-                        
-                        totalIntensity += adjustedIntensity;
-                    }
-                }
-            }
-        }
-        
-        return totalIntensity;
+    /**
+     * Get the radiation of the biome the player is in.
+     * The biome is only looked up again once the player enters a different 4x4x4 biome cell.
+     */
+    private static EnvironmentRadiation getBiomeRadiation(Player player, DynamicRadiationData data) {
+        Level level = player.level();
+        RadiationBiomeTable table = RadiationBiomeTable.get(level.registryAccess());
+        int quartX = QuartPos.fromBlock(player.getBlockX());
+        int quartY = QuartPos.fromBlock(player.getBlockY());
+        int quartZ = QuartPos.fromBlock(player.getBlockZ());
+        long quart = BlockPos.asLong(quartX, quartY, quartZ);
+        
+        if (data.biomeRadiation == null || quart != data.biomeQuart || level != data.biomeLevel || table != data.biomeTable) {
+            data.biomeRadiation = table.get(level.getNoiseBiome(quartX, quartY, quartZ));
+            data.biomeQuart = quart;
+            data.biomeLevel = level;
+            data.biomeTable = table;
+        }
+        return data.biomeRadiation;
     }
     
+    /**
+     * Get the fraction of radiation blocked between a source and a player
+     * @return Shielding reduction factor (0.0 to 1.0)
+     * @see RadiationShielding
+     */
     public static float calculateShieldingReduction(Level world, BlockPos sourcePos, BlockPos playerPos) {
-        double totalShielding = 0.0;
-        
-        // Use Bresenham-style line to trace blocks between source and player
-        double dx = playerPos.getX() - sourcePos.getX();
-        double dy = playerPos.getY() - sourcePos.getY();
-        double dz = playerPos.getZ() - sourcePos.getZ();
-        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
-        
-        if (distance < 1.0) {
-            return 0.0f; // No blocks between source and player
-        }
-        
-        // Normalize direction
-        dx /= distance;
-        dy /= distance;
-        dz /= distance;
-        
-        // Step size for ray marching (smaller = more accurate but slower)
-        double stepSize = 0.5;
-        double defaultShielding = RadiationConfig.DEFAULT_BLOCK_SHIELDING.get();
-        
-        // Track visited block positions to avoid counting the same block multiple times
-        java.util.Set<BlockPos> visitedBlocks = new java.util.HashSet<>();
-        
-        // March along the ray from source to player
-        for (double t = stepSize; t < distance - 0.5; t += stepSize) {
-            int checkX = (int) Math.floor(sourcePos.getX() + dx * t + 0.5);
-            int checkY = (int) Math.floor(sourcePos.getY() + dy * t + 0.5);
-            int checkZ = (int) Math.floor(sourcePos.getZ() + dz * t + 0.5);
-            BlockPos checkPos = new BlockPos(checkX, checkY, checkZ);
-            
-            // Skip source and player positions
-            if (checkPos.equals(sourcePos) || checkPos.equals(playerPos)) {
-                continue;
-            }
-            
-            // Skip already visited blocks
-            if (visitedBlocks.contains(checkPos)) {
-                continue;
-            }
-            visitedBlocks.add(checkPos);
-            
-            BlockState blockState = world.getBlockState(checkPos);
-            
-            // Skip air and non-solid blocks
-            if (blockState.isAir() || !blockState.isSolidRender(world, checkPos)) {
-                continue;
-            }
-            
-            // Get shielding value for this block
-            ResourceLocation blockId = net.minecraft.core.registries.BuiltInRegistries.BLOCK.getKey(blockState.getBlock());
-            String blockIdString = blockId.toString();
-            
-            double shieldingValue;
-            if (SHIELDING_VALUES.containsKey(blockIdString)) {
-                shieldingValue = SHIELDING_VALUES.get(blockIdString);
-            } else {
-                // Use default shielding for solid blocks not in the list
-                shieldingValue = defaultShielding;
-            }
-            
-            totalShielding += shieldingValue;
-            
-            // Cap at 100% shielding
-            if (totalShielding >= 100.0) {
-                return 1.0f;
-            }
-        }
-        
-        // Convert percentage to reduction factor (0.0 to 1.0)
-        return (float) Math.min(1.0, totalShielding / 100.0);
+        return RadiationShielding.getShieldingFactor(world, sourcePos, playerPos);
     }
     
     private static float applyRadiationResistance(Player player, float intensity) {
@@ -438,8 +254,8 @@ public class DynamicRadiationHandler {
         return intensity;
     }
     
-    private static float applyArmorProtection(Player player, float intensity) {
-        if (!RadiationConfig.ENABLE_ARMOR_PROTECTION.get()) {
+    private static float applyArmorProtection(Player player, CompiledRadiationConfig config, float intensity) {
+        if (!config.armorProtection()) {
             return intensity;
         }
         
@@ -452,7 +268,7 @@ public class DynamicRadiationHandler {
         }
         
         // Calculate protection percentage based on armor points
-        float protectionPercent = (float) (totalArmor * RadiationConfig.ARMOR_PROTECTION_PER_POINT.get());
+        float protectionPercent = (float) (totalArmor * config.armorProtectionPerPoint());
         protectionPercent = Math.min(95.0f, protectionPercent); // Cap at 95% protection
         
         // Apply protection
@@ -460,14 +276,29 @@ public class DynamicRadiationHandler {
         return reducedIntensity;
     }
     
-    private static void updateDynamicRadiation(Player player, DynamicRadiationData data, float exposureIntensity, float maxPossibleExposure) {
+    private static void updateDynamicRadiation(Player player, DynamicRadiationData data, CompiledRadiationConfig config,
+                                               float exposureIntensity, float maxPossibleExposure) {
         // Check if player is in water for decontamination
         boolean isInWater = (player.isInWater() || player.isInWaterOrBubble() || player.isInWaterOrRain()) 
-                && RadiationConfig.ENABLE_WATER_DECONTAMINATION.get();
+                && config.waterDecontamination();
+        
+        updateExposure(data, config, exposureIntensity, maxPossibleExposure, isInWater);
         
+        // If exposure reached exactly 0, immediately clear the effect (don't wait for next second)
+        if (data.currentExposure == 0 && player.hasEffect(ModEffects.radiationHolder())) {
+            player.removeEffect(ModEffects.radiationHolder());
+        }
+    }
+    
+    /**
+     * Advance a player's exposure by one tick: build up while exposed, decay after the configured delay otherwise
+     * @param isInWater Whether the player is in water and water decontamination is enabled
+     */
+    static void updateExposure(DynamicRadiationData data, CompiledRadiationConfig config,
+                               float exposureIntensity, float maxPossibleExposure, boolean isInWater) {
         // If exposed to radiation sources, gradually increase
         if (exposureIntensity > 0) {
-            float buildupRate = RadiationConfig.RADIATION_BUILDUP_RATE.get().floatValue();
+            float buildupRate = config.buildupRate();
             
             // Limit buildup to the maxPossibleExposure from current radiation sources
             // This ensures radiation from a biome with max 10 can't go above 10
@@ -485,7 +316,7 @@ public class DynamicRadiationHandler {
                 
                 // Water reduces radiation buildup
                 if (isInWater) {
-                    float reductionMultiplier = RadiationConfig.WATER_BUILDUP_REDUCTION.get().floatValue();
+                    float reductionMultiplier = config.waterBuildupReduction();
                     actualIncrease *= reductionMultiplier;
                 }
                 
@@ -497,8 +328,8 @@ public class DynamicRadiationHandler {
             // If not exposed, start decay timer
             data.timeSinceLastExposure++;
             
-            // Get decay delay from config (convert seconds to ticks)
-            int decayDelayTicks = RadiationConfig.RADIATION_DECAY_DELAY.get() * 20;
+            // Get decay delay from config (already in ticks)
+            int decayDelayTicks = config.decayDelayTicks();
             
             // Only start decaying after the configured delay
             if (data.timeSinceLastExposure >= decayDelayTicks) {
@@ -506,26 +337,20 @@ public class DynamicRadiationHandler {
                 int decayIntervalTicks;
                 
                 if (isInWater) {
-                    decayIntervalTicks = RadiationConfig.WATER_DECAY_DELAY_SECONDS.get() * 20;
+                    decayIntervalTicks = config.waterDecayIntervalTicks();
                 } else {
-                    decayIntervalTicks = RadiationConfig.RADIATION_DECAY_DELAY.get() * 20;
+                    decayIntervalTicks = decayDelayTicks;
                 }
                 
                 // Get decay rate from config
-                float decayRate = RadiationConfig.RADIATION_DECAY_RATE.get().floatValue();
+                float decayRate = config.decayRate();
                 
                 // Apply decay at the specified interval
                 if ((data.timeSinceLastExposure - decayDelayTicks) % decayIntervalTicks == 0) {
                     if (data.currentExposure > 0) {
                         // Use config decay rate (scaled to be meaningful)
                         float decayAmount = decayRate * 100.0f; // Scale up since config is 0.001-0.1 range
-                        float previousExposure = data.currentExposure;
                         data.currentExposure = Math.max(0, data.currentExposure - decayAmount);
-                        
-                        // If exposure just dropped to zero, immediately clear the radiation effect
-                        if (previousExposure > 0 && data.currentExposure == 0) {
-                            player.removeEffect(ModEffects.radiationHolder());
-                        }
                     }
                 }
             }
@@ -533,25 +358,13 @@ public class DynamicRadiationHandler {
         
         // Water actively decontaminates (removes radiation slowly even when exposed)
         if (isInWater && data.currentExposure > 0) {
-            // Active decontamination rate from config (per second, converted to per tick)
-            float waterDecontaminationPerSecond = RadiationConfig.WATER_ACTIVE_DECONTAMINATION_RATE.get().floatValue();
-            float waterDecontamination = waterDecontaminationPerSecond / 20.0f; // Convert to per-tick
-            float previousExposure = data.currentExposure;
+            // Active decontamination rate from config (already converted to per tick)
+            float waterDecontamination = config.waterDecontaminationPerTick();
             data.currentExposure = Math.max(0, data.currentExposure - waterDecontamination);
-            
-            // If exposure just dropped to zero, immediately clear the radiation effect
-            if (previousExposure > 0 && data.currentExposure == 0) {
-                player.removeEffect(ModEffects.radiationHolder());
-            }
         }
         
         // Clamp exposure to reasonable limits
         data.currentExposure = Math.max(0, Math.min(100.0f, data.currentExposure));
-        
-        // If exposure reached exactly 0, immediately clear the effect (don't wait for next second)
-        if (data.currentExposure == 0 && player.hasEffect(ModEffects.radiationHolder())) {
-            player.removeEffect(ModEffects.radiationHolder());
-        }
     }
     
     private static void applyRadiationEffect(Player player, DynamicRadiationData data) {
@@ -582,33 +395,36 @@ public class DynamicRadiationHandler {
             radiationLevel = Math.round(data.currentExposure);
         }
         
-        // Always remove the old effect first to ensure clean state
-        player.removeEffect(ModEffects.radiationHolder());
+        MobEffectInstance current = player.getEffect(ModEffects.radiationHolder());
+        if (radiationLevel <= 0) {
+            if (current != null) {
+                player.removeEffect(ModEffects.radiationHolder());
+            }
+            return;
+        }
         
-        if (radiationLevel > 0) {
-            // Apply new radiation effect
-            int clampedLevel = Math.max(1, Math.min(100, radiationLevel));
-            player.addEffect(new MobEffectInstance(ModEffects.radiationHolder(), 
-                    100, clampedLevel - 1, false, true, true));
+        // Only touch the effect when its level changes or it is about to run out;
+        // every change sends an effect packet to the player and fires effect events
+        int amplifier = Math.max(1, Math.min(100, radiationLevel)) - 1;
+        if (current != null && current.getAmplifier() == amplifier && current.getDuration() > EFFECT_REFRESH_TICKS) {
+            // Skipped both the remove and the update packet
+            RadiationMetrics.recordEffectPacketsAvoided(2);
+            return;
         }
-        // If radiationLevel is 0, effect stays removed (already removed above)
-    }
-    
-    @SubscribeEvent
-    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
-        savePlayerRadiationData(event.getEntity());
-        UUID playerId = event.getEntity().getUUID();
-        removePlayerData(playerId);
-        PLAYER_GAME_MODES.remove(playerId); // Clean up game mode tracking
+        if (current != null && current.getAmplifier() > amplifier) {
+            // Adding a weaker effect doesn't replace a stronger one, so remove it first
+            player.removeEffect(ModEffects.radiationHolder());
+        } else if (current != null) {
+            // Adding a stronger or equal effect updates the existing one in place
+            RadiationMetrics.recordEffectPacketsAvoided(1);
+        }
+        player.addEffect(new MobEffectInstance(ModEffects.radiationHolder(), 
+                EFFECT_DURATION_TICKS, amplifier, false, true, true));
     }
     
     @SubscribeEvent
     public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
-        loadPlayerRadiationData(event.getEntity());
-        // Initialize game mode tracking for new sessions
-        if (event.getEntity() instanceof ServerPlayer serverPlayer) {
-            PLAYER_GAME_MODES.put(serverPlayer.getUUID(), serverPlayer.gameMode.getGameModeForPlayer());
-        }
+        migrateLegacyRadiationData(event.getEntity());
     }
     
     @SubscribeEvent
@@ -620,99 +436,58 @@ public class DynamicRadiationHandler {
     }
     
     /**
-     * Save player radiation data to NBT persistent data
-     */
-    private static void savePlayerRadiationData(Player player) {
-        DynamicRadiationData data = PLAYER_RADIATION_DATA.get(player.getUUID());
-        if (data != null) {
-            CompoundTag radiationTag = data.saveToNBT();
-            player.getPersistentData().put("irradiated:dynamicRadiation", radiationTag);
-        }
-    }
-    
-    /**
-     * Load player radiation data from NBT persistent data
+     * Move radiation saved in the player's persistent data by older versions into the attachment
      */
-    private static void loadPlayerRadiationData(Player player) {
+    private static void migrateLegacyRadiationData(Player player) {
         CompoundTag persistentData = player.getPersistentData();
-        if (persistentData.contains("irradiated:dynamicRadiation")) {
-            CompoundTag radiationTag = persistentData.getCompound("irradiated:dynamicRadiation");
-            DynamicRadiationData data = DynamicRadiationData.fromNBT(radiationTag);
-            PLAYER_RADIATION_DATA.put(player.getUUID(), data);
+        if (persistentData.contains(LEGACY_DATA_KEY)) {
+            player.getData(ModAttachments.RADIATION_DATA).loadFromLegacyNBT(persistentData.getCompound(LEGACY_DATA_KEY));
+            persistentData.remove(LEGACY_DATA_KEY);
         }
     }
     
     /**
-     * Clean up player data when they leave
+     * Get a player's radiation data without creating it
+     * @return The data, or null if the player has none yet
      */
-    public static void removePlayerData(UUID playerId) {
-        PLAYER_RADIATION_DATA.remove(playerId);
+    private static DynamicRadiationData getExistingData(Player player) {
+        return player.getExistingData(ModAttachments.RADIATION_DATA).orElse(null);
     }
     
     /**
      * Get current radiation exposure for a player (for debugging/monitoring)
      */
     public static float getPlayerRadiationExposure(Player player) {
-        DynamicRadiationData data = PLAYER_RADIATION_DATA.get(player.getUUID());
+        DynamicRadiationData data = getExistingData(player);
         return data != null ? data.currentExposure : 0.0f;
     }
     
     /**
-     * Configuration for radiation sources
+     * Get how fast a player's radiation exposure is changing. Available on both sides.
+     * @return Smoothed change in exposure per second (positive while building up)
      */
-    private static class RadiationSource {
-        final float intensity;    // Radiation intensity per tick
-        final float maxExposure;  // Maximum exposure this source can cause
-        final int range;          // Range in blocks (0 = no range limit for biomes/dimensions)
-        final float decayRate;    // How fast this radiation type decays
-        
-        RadiationSource(float intensity, float maxExposure, int range, float decayRate) {
-            this.intensity = intensity;
-            this.maxExposure = maxExposure;
-            this.range = range;
-            this.decayRate = decayRate;
-        }
+    public static float getRadiationTrend(Player player) {
+        DynamicRadiationData data = getExistingData(player);
+        return data != null ? data.exposureTrend : 0.0f;
     }
     
     /**
-     * Player radiation data with NBT serialization support
+     * Get the kinds of radiation sources a player is currently exposed to. Available on both sides.
+     * @return Bit mask of {@link RadiationSyncPayload#SOURCE_BIOME}, {@link RadiationSyncPayload#SOURCE_DIMENSION}
+     *         and {@link RadiationSyncPayload#SOURCE_BLOCK}
      */
-    private static class DynamicRadiationData {
-        float currentExposure = 0.0f;     // Current radiation exposure level
-        int timeSinceLastExposure = 0;    // Ticks since last radiation source contact
-        boolean manuallyOverridden = false; // True if radiation was set manually via API
-        int overrideDuration = 0;         // Ticks remaining for manual override
-        
-        /**
-         * Save this data to NBT
-         */
-        public CompoundTag saveToNBT() {
-            CompoundTag tag = new CompoundTag();
-            tag.putFloat("currentExposure", currentExposure);
-            tag.putInt("timeSinceLastExposure", timeSinceLastExposure);
-            tag.putBoolean("manuallyOverridden", manuallyOverridden);
-            tag.putInt("overrideDuration", overrideDuration);
-            return tag;
-        }
-        
-        /**
-         * Load this data from NBT
-         */
-        public void loadFromNBT(CompoundTag tag) {
-            currentExposure = tag.getFloat("currentExposure");
-            timeSinceLastExposure = tag.getInt("timeSinceLastExposure");
-            manuallyOverridden = tag.getBoolean("manuallyOverridden");
-            overrideDuration = tag.getInt("overrideDuration");
-        }
-        
-        /**
-         * Create a new instance from NBT data
-         */
-        public static DynamicRadiationData fromNBT(CompoundTag tag) {
-            DynamicRadiationData data = new DynamicRadiationData();
-            data.loadFromNBT(tag);
-            return data;
-        }
+    public static int getActiveRadiationSources(Player player) {
+        DynamicRadiationData data = getExistingData(player);
+        return data != null ? data.activeSources : 0;
+    }
+    
+    /**
+     * Get the most recent block radiation scan for a player (for debugging/monitoring)
+     * @return The last scan result, or null if block radiation was not scanned
+     */
+    public static RadiationBlockScanner.ScanResult getLastBlockScan(Player player) {
+        DynamicRadiationData data = getExistingData(player);
+        return data != null ? data.lastBlockScan : null;
     }
     
     // Public API methods for RadiationAPI integration
@@ -723,7 +498,7 @@ public class DynamicRadiationHandler {
      * @return Current radiation exposure (0.0 to max possible)
      */
     public static float getCurrentRadiationExposure(Player player) {
-        DynamicRadiationData data = PLAYER_RADIATION_DATA.get(player.getUUID());
+        DynamicRadiationData data = getExistingData(player);
         return data != null ? data.currentExposure : 0.0f;
     }
     
@@ -733,7 +508,7 @@ public class DynamicRadiationHandler {
      * @param exposure New radiation exposure level
      */
     public static void setCurrentRadiationExposure(Player player, float exposure) {
-        DynamicRadiationData data = PLAYER_RADIATION_DATA.computeIfAbsent(player.getUUID(), k -> new DynamicRadiationData());
+        DynamicRadiationData data = player.getData(ModAttachments.RADIATION_DATA);
         data.currentExposure = Math.max(0.0f, exposure);
         data.timeSinceLastExposure = 0; // Reset decay timer
     }
@@ -745,7 +520,7 @@ public class DynamicRadiationHandler {
      * @param overrideDurationTicks How long to prevent dynamic system from overriding
      */
     public static void setCurrentRadiationExposureWithOverride(Player player, float exposure, int overrideDurationTicks) {
-        DynamicRadiationData data = PLAYER_RADIATION_DATA.computeIfAbsent(player.getUUID(), k -> new DynamicRadiationData());
+        DynamicRadiationData data = player.getData(ModAttachments.RADIATION_DATA);
         data.currentExposure = Math.max(0.0f, exposure);
         data.timeSinceLastExposure = 0; // Reset decay timer
         data.manuallyOverridden = true;
@@ -758,7 +533,7 @@ public class DynamicRadiationHandler {
      * @param reduction Amount to reduce exposure by
      */
     public static void reduceRadiationExposure(Player player, float reduction) {
-        DynamicRadiationData data = PLAYER_RADIATION_DATA.get(player.getUUID());
+        DynamicRadiationData data = getExistingData(player);
         if (data != null) {
             data.currentExposure = Math.max(0.0f, data.currentExposure - reduction);
             data.timeSinceLastExposure = 0; // Reset decay timer
@@ -773,7 +548,7 @@ public class DynamicRadiationHandler {
      * @param player The player to clear
      */
     public static void clearRadiationExposure(Player player) {
-        DynamicRadiationData data = PLAYER_RADIATION_DATA.get(player.getUUID());
+        DynamicRadiationData data = getExistingData(player);
         if (data != null) {
             data.currentExposure = 0.0f;
             data.timeSinceLastExposure = 0;
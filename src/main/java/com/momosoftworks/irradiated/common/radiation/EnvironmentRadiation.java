@@ -0,0 +1,16 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+/**
+ * Radiation given off by a biome or dimension
+ */
+public class EnvironmentRadiation {
+    public static final EnvironmentRadiation NONE = new EnvironmentRadiation(0.0f, 0.0f);
+
+    public final float intensity;    // Per-tick intensity (chance per second / 20)
+    public final float maxExposure;  // Max radiation level the environment can cause
+
+    public EnvironmentRadiation(float intensity, float maxExposure) {
+        this.intensity = intensity;
+        this.maxExposure = maxExposure;
+    }
+}
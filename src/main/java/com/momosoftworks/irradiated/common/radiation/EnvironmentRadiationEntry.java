@@ -0,0 +1,142 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.GsonHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single biome or dimension radiation file from a datapack.
+ *
+ * <p>Format:</p>
+ * <pre>{@code
+ * {
+ *   "biomes": ["minecraft:desert", "#c:is_desert"],  // or "dimensions" for dimension files
+ *   "chance_per_second": 0.01,                       // Radiation chance per second (0.0-1.0)
+ *   "max_level": 10,                                 // Max radiation level (0-100)
+ *   "config_preset": "desert",                       // Use chance and max level from the config instead of the two above
+ *   "intensity_multiplier": 1.0                      // Optional, scales the intensity (at least 0)
+ * }
+ * }</pre>
+ *
+ * <p>Either both {@code chance_per_second} and {@code max_level} or a {@code config_preset} are required,
+ * but not both. Targets starting with {@code #} are biome tags; dimension files can't use tags.
+ * Config presets are {@code desert}, {@code badlands}, {@code mushroom} and {@code nether}.</p>
+ */
+public class EnvironmentRadiationEntry {
+
+    private static final List<String> CONFIG_PRESETS = List.of("desert", "badlands", "mushroom", "nether");
+
+    public final ResourceLocation id;
+    public final List<ResourceLocation> targets;     // Ids of the biomes or dimensions
+    public final List<ResourceLocation> tagTargets;  // Tags of biomes
+    public final String configPreset;                // Null unless values come from the config
+    public final double chancePerSecond;
+    public final int maxLevel;
+    public final double intensityMultiplier;
+
+    private EnvironmentRadiationEntry(ResourceLocation id, List<ResourceLocation> targets, List<ResourceLocation> tagTargets,
+                                      String configPreset, double chancePerSecond, int maxLevel, double intensityMultiplier) {
+        this.id = id;
+        this.targets = targets;
+        this.tagTargets = tagTargets;
+        this.configPreset = configPreset;
+        this.chancePerSecond = chancePerSecond;
+        this.maxLevel = maxLevel;
+        this.intensityMultiplier = intensityMultiplier;
+    }
+
+    /**
+     * Parse an entry from its JSON file
+     * @param id The file's id
+     * @param json The file's contents
+     * @param targetsKey Name of the target list ("biomes" or "dimensions")
+     * @throws JsonParseException If the file is malformed
+     */
+    public static EnvironmentRadiationEntry fromJson(ResourceLocation id, JsonElement json, String targetsKey) {
+        JsonObject object = GsonHelper.convertToJsonObject(json, "radiation entry");
+
+        List<ResourceLocation> targets = new ArrayList<>();
+        List<ResourceLocation> tagTargets = new ArrayList<>();
+        JsonArray targetArray = GsonHelper.getAsJsonArray(object, targetsKey);
+        for (JsonElement element : targetArray) {
+            String target = GsonHelper.convertToString(element, targetsKey);
+            if (target.startsWith("#")) {
+                if (!targetsKey.equals("biomes")) {
+                    throw new JsonParseException("Tags are only supported for biomes, got \"" + target + "\"");
+                }
+                tagTargets.add(parseId(target.substring(1)));
+            } else {
+                targets.add(parseId(target));
+            }
+        }
+
+        String configPreset = GsonHelper.getAsString(object, "config_preset", null);
+        if (configPreset != null && !CONFIG_PRESETS.contains(configPreset)) {
+            throw new JsonParseException("Unknown config_preset \"" + configPreset + "\"");
+        }
+
+        if (configPreset == null && (!object.has("chance_per_second") || !object.has("max_level"))) {
+            throw new JsonParseException("Expected chance_per_second and max_level, or config_preset");
+        }
+        if (configPreset != null && (object.has("chance_per_second") || object.has("max_level"))) {
+            throw new JsonParseException("config_preset can't be combined with chance_per_second or max_level");
+        }
+        double chancePerSecond = GsonHelper.getAsDouble(object, "chance_per_second", 0.0);
+        if (chancePerSecond < 0.0 || chancePerSecond > 1.0) {
+            throw new JsonParseException("chance_per_second must be between 0 and 1, got " + chancePerSecond);
+        }
+        int maxLevel = GsonHelper.getAsInt(object, "max_level", 0);
+        if (maxLevel < 0 || maxLevel > 100) {
+            throw new JsonParseException("max_level must be between 0 and 100, got " + maxLevel);
+        }
+        double intensityMultiplier = GsonHelper.getAsDouble(object, "intensity_multiplier", 1.0);
+        if (intensityMultiplier < 0.0) {
+            throw new JsonParseException("intensity_multiplier can't be negative, got " + intensityMultiplier);
+        }
+
+        return new EnvironmentRadiationEntry(id, Collections.unmodifiableList(targets), Collections.unmodifiableList(tagTargets),
+                configPreset, chancePerSecond, maxLevel, intensityMultiplier);
+    }
+
+    /**
+     * Resolve the entry's radiation values, reading config presets from the current config
+     */
+    public EnvironmentRadiation resolve() {
+        double chance = chancePerSecond;
+        double max = maxLevel;
+        if (configPreset != null) {
+            double[] preset = getPreset(configPreset);
+            chance = preset[0];
+            max = preset[1];
+        }
+        return new EnvironmentRadiation((float) (chance / 20.0 * intensityMultiplier), (float) max);
+    }
+
+    /**
+     * @return {chance per second, max level} from the config, or null if the preset doesn't exist
+     */
+    private static double[] getPreset(String name) {
+        return switch (name) {
+            case "desert" -> new double[] {RadiationConfig.DESERT_RADIATION_CHANCE.get(), RadiationConfig.DESERT_MAX_LEVEL.get()};
+            case "badlands" -> new double[] {RadiationConfig.BADLANDS_RADIATION_CHANCE.get(), RadiationConfig.BADLANDS_MAX_LEVEL.get()};
+            case "mushroom" -> new double[] {RadiationConfig.MUSHROOM_RADIATION_CHANCE.get(), RadiationConfig.MUSHROOM_MAX_LEVEL.get()};
+            case "nether" -> new double[] {RadiationConfig.NETHER_RADIATION_CHANCE.get(), RadiationConfig.NETHER_MAX_LEVEL.get()};
+            default -> null;
+        };
+    }
+
+    private static ResourceLocation parseId(String id) {
+        ResourceLocation location = ResourceLocation.tryParse(id);
+        if (location == null) {
+            throw new JsonParseException("Invalid id \"" + id + "\"");
+        }
+        return location;
+    }
+}
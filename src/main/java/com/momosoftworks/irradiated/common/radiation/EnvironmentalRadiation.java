@@ -4,6 +4,7 @@ import com.momosoftworks.irradiated.api.radiation.RadiationAPI;
 import com.momosoftworks.irradiated.core.init.ModEffects;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
+import net.minecraft.core.SectionPos;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
@@ -20,6 +21,7 @@ import net.neoforged.fml.common.EventBusSubscriber;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Environmental radiation system for the new Irradiated mod.
@@ -34,6 +36,11 @@ public class EnvironmentalRadiation {
     private static final Map<String, RadiationZone> DIMENSION_RADIATION = new HashMap<>();
     private static final Map<Block, RadiationZone> BLOCK_RADIATION = new HashMap<>();
     
+    // Blocks checked by the legacy block scan, used to skip sections without any of them
+    private static final Predicate<BlockState> IS_LEGACY_RADIATION_BLOCK = state ->
+            state.is(Blocks.DEEPSLATE_COPPER_ORE) || state.is(Blocks.REDSTONE_ORE)
+                    || state.is(Blocks.DEEPSLATE_REDSTONE_ORE) || state.is(Blocks.NETHERITE_BLOCK);
+    
     static {
         // Configure radiation biomes (like Fallout's wasteland areas)
         BIOME_RADIATION.put("minecraft:desert", new RadiationZone(1, 0.02f, 16));
@@ -226,73 +233,104 @@ public class EnvironmentalRadiation {
         BlockPos playerPos = player.blockPosition();
         Level world = player.level();
         int range = RadiationConfig.BLOCK_RADIATION_RANGE.get();
+        BlockPos.MutableBlockPos checkPos = new BlockPos.MutableBlockPos();
+        
+        int minSectionX = SectionPos.blockToSectionCoord(playerPos.getX() - range);
+        int maxSectionX = SectionPos.blockToSectionCoord(playerPos.getX() + range);
+        int minSectionY = SectionPos.blockToSectionCoord(playerPos.getY() - range);
+        int maxSectionY = SectionPos.blockToSectionCoord(playerPos.getY() + range);
+        int minSectionZ = SectionPos.blockToSectionCoord(playerPos.getZ() - range);
+        int maxSectionZ = SectionPos.blockToSectionCoord(playerPos.getZ() + range);
         
-        // Check blocks in range
-        for (int x = -range; x <= range; x++) {
-            for (int y = -range; y <= range; y++) {
-                for (int z = -range; z <= range; z++) {
-                    BlockPos checkPos = playerPos.offset(x, y, z);
-                    BlockState blockState = world.getBlockState(checkPos);
-                    Block block = blockState.getBlock();
+        // Check blocks in range, one chunk section at a time
+        for (int sectionX = minSectionX; sectionX <= maxSectionX; sectionX++) {
+            for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                for (int sectionZ = minSectionZ; sectionZ <= maxSectionZ; sectionZ++) {
+                    // Skip whole sections whose palette has none of the legacy radiation blocks
+                    if (!RadiationSectionFilter.mayContain(world, sectionX, sectionY, sectionZ, IS_LEGACY_RADIATION_BLOCK)) {
+                        continue;
+                    }
                     
-                    double distance = Math.sqrt(x * x + y * y + z * z);
+                    // Only the part of the section that is inside the range
+                    int minX = Math.max(-range, SectionPos.sectionToBlockCoord(sectionX) - playerPos.getX());
+                    int maxX = Math.min(range, SectionPos.sectionToBlockCoord(sectionX, 15) - playerPos.getX());
+                    int minY = Math.max(-range, SectionPos.sectionToBlockCoord(sectionY) - playerPos.getY());
+                    int maxY = Math.min(range, SectionPos.sectionToBlockCoord(sectionY, 15) - playerPos.getY());
+                    int minZ = Math.max(-range, SectionPos.sectionToBlockCoord(sectionZ) - playerPos.getZ());
+                    int maxZ = Math.min(range, SectionPos.sectionToBlockCoord(sectionZ, 15) - playerPos.getZ());
                     
-                    // Check uranium ore (LEGACY - hardcoded values since this class is disabled)
-                    if (block == Blocks.DEEPSLATE_COPPER_ORE) { // Using copper ore as uranium ore
-                        double chance = 0.15; // Legacy hardcoded value
-                        int maxLevel = 20; // Legacy hardcoded value
-                        
-                        // Reduce chance based on distance
-                        chance = chance * (1.0 - (distance / (range * 1.5)));
-                        
-                        if (chance > 0 && player.getRandom().nextDouble() < chance) {
-                            int currentLevel = RadiationAPI.getRadiationLevel(player);
-                            if (currentLevel < maxLevel) {
-                                // Check if player has radiation resistance
-                                double resistanceReduction = getRadiationResistance(player);
-                                if (player.getRandom().nextDouble() >= resistanceReduction) {
-                                    RadiationAPI.addRadiation(player, 1, 1200); // 1 minute duration
-                                }
+                    for (int x = minX; x <= maxX; x++) {
+                        for (int y = minY; y <= maxY; y++) {
+                            for (int z = minZ; z <= maxZ; z++) {
+                                checkPos.setWithOffset(playerPos, x, y, z);
+                                Block block = world.getBlockState(checkPos).getBlock();
+                                double distance = Math.sqrt(x * x + y * y + z * z);
+                                checkRadiationBlock(player, block, distance, range);
                             }
                         }
                     }
-                    // Check redstone ore
-                    else if (block == Blocks.REDSTONE_ORE || block == Blocks.DEEPSLATE_REDSTONE_ORE) {
-                        double chance = 0.01; // 1% chance per second
-                        int maxLevel = 1;
-                        
-                        // Reduce chance based on distance
-                        chance = chance * (1.0 - (distance / (range * 1.5)));
-                        
-                        if (chance > 0 && player.getRandom().nextDouble() < chance) {
-                            int currentLevel = RadiationAPI.getRadiationLevel(player);
-                            if (currentLevel < maxLevel) {
-                                // Check if player has radiation resistance
-                                double resistanceReduction = getRadiationResistance(player);
-                                if (player.getRandom().nextDouble() >= resistanceReduction) {
-                                    RadiationAPI.addRadiation(player, 1, 1200); // 1 minute duration
-                                }
-                            }
-                        }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Apply legacy radiation from a single block near the player
+     */
+    private static void checkRadiationBlock(Player player, Block block, double distance, int range) {
+        // Check uranium ore (LEGACY - hardcoded values since this class is disabled)
+        if (block == Blocks.DEEPSLATE_COPPER_ORE) { // Using copper ore as uranium ore
+            double chance = 0.15; // Legacy hardcoded value
+            int maxLevel = 20; // Legacy hardcoded value
+            
+            // Reduce chance based on distance
+            chance = chance * (1.0 - (distance / (range * 1.5)));
+            
+            if (chance > 0 && player.getRandom().nextDouble() < chance) {
+                int currentLevel = RadiationAPI.getRadiationLevel(player);
+                if (currentLevel < maxLevel) {
+                    // Check if player has radiation resistance
+                    double resistanceReduction = getRadiationResistance(player);
+                    if (player.getRandom().nextDouble() >= resistanceReduction) {
+                        RadiationAPI.addRadiation(player, 1, 1200); // 1 minute duration
                     }
-                    // Check netherite block
-                    else if (block == Blocks.NETHERITE_BLOCK) {
-                        double chance = 0.08; // 8% chance per second
-                        int maxLevel = 3;
-                        
-                        // Reduce chance based on distance
-                        chance = chance * (1.0 - (distance / (range * 1.5)));
-                        
-                        if (chance > 0 && player.getRandom().nextDouble() < chance) {
-                            int currentLevel = RadiationAPI.getRadiationLevel(player);
-                            if (currentLevel < maxLevel) {
-                                // Check if player has radiation resistance
-                                double resistanceReduction = getRadiationResistance(player);
-                                if (player.getRandom().nextDouble() >= resistanceReduction) {
-                                    RadiationAPI.addRadiation(player, 1, 1200); // 1 minute duration
-                                }
-                            }
-                        }
+                }
+            }
+        }
+        // Check redstone ore
+        else if (block == Blocks.REDSTONE_ORE || block == Blocks.DEEPSLATE_REDSTONE_ORE) {
+            double chance = 0.01; // 1% chance per second
+            int maxLevel = 1;
+            
+            // Reduce chance based on distance
+            chance = chance * (1.0 - (distance / (range * 1.5)));
+            
+            if (chance > 0 && player.getRandom().nextDouble() < chance) {
+                int currentLevel = RadiationAPI.getRadiationLevel(player);
+                if (currentLevel < maxLevel) {
+                    // Check if player has radiation resistance
+                    double resistanceReduction = getRadiationResistance(player);
+                    if (player.getRandom().nextDouble() >= resistanceReduction) {
+                        RadiationAPI.addRadiation(player, 1, 1200); // 1 minute duration
+                    }
+                }
+            }
+        }
+        // Check netherite block
+        else if (block == Blocks.NETHERITE_BLOCK) {
+            double chance = 0.08; // 8% chance per second
+            int maxLevel = 3;
+            
+            // Reduce chance based on distance
+            chance = chance * (1.0 - (distance / (range * 1.5)));
+            
+            if (chance > 0 && player.getRandom().nextDouble() < chance) {
+                int currentLevel = RadiationAPI.getRadiationLevel(player);
+                if (currentLevel < maxLevel) {
+                    // Check if player has radiation resistance
+                    double resistanceReduction = getRadiationResistance(player);
+                    if (player.getRandom().nextDouble() >= resistanceReduction) {
+                        RadiationAPI.addRadiation(player, 1, 1200); // 1 minute duration
                     }
                 }
             }
@@ -0,0 +1,86 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Runs block radiation scans on a worker pool instead of the server thread.
+ *
+ * <p>The server thread only captures a {@link RadiationSnapshot} of the sections around the
+ * receiver, which is mostly array copies. Finding sources, falloff and shielding rays all run
+ * on a fork-join pool against the snapshot. Callers poll the returned task on later ticks
+ * and apply the result once it's done, so the server thread never waits for a worker.</p>
+ *
+ * <p>Enabled with {@link RadiationConfig#ASYNC_BLOCK_RADIATION}. The pool is created on first use with
+ * {@link RadiationConfig#ASYNC_WORKER_THREADS} workers and kept until the game exits, so changing the
+ * number of workers takes a restart; a warning is logged if it's changed while running.</p>
+ */
+public class RadiationAsyncScanner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RadiationAsyncScanner.class);
+
+    private static volatile ForkJoinPool pool;
+    // Worker count setting the pool was created with, and the last changed setting warned about
+    private static int poolWorkerSetting;
+    private static int warnedWorkerSetting;
+
+    /**
+     * Capture a snapshot around a position and start scanning it on the worker pool.
+     * Must be called on the server thread.
+     * @return The running scan
+     * @see RadiationBlockScanner#scan
+     */
+    static ForkJoinTask<RadiationBlockScanner.ScanResult> submit(Level level, BlockPos center, int range, boolean shieldingEnabled) {
+        RadiationSnapshot snapshot = RadiationSnapshot.capture(level, center, range);
+        BlockPos receiver = center.immutable();
+        return getPool().submit(() -> RadiationBlockScanner.scan(snapshot, receiver, range, shieldingEnabled));
+    }
+
+    /**
+     * Get the result of a finished scan
+     * @return The scan result, or null if the scan failed
+     */
+    static RadiationBlockScanner.ScanResult getResult(ForkJoinTask<RadiationBlockScanner.ScanResult> task) {
+        if (task.isCompletedAbnormally()) {
+            LOGGER.error("Async block radiation scan failed", task.getException());
+            return null;
+        }
+        return task.join();
+    }
+
+    private static ForkJoinPool getPool() {
+        int setting = CompiledRadiationConfig.get().asyncWorkerThreads();
+        ForkJoinPool current = pool;
+        if (current == null) {
+            synchronized (RadiationAsyncScanner.class) {
+                current = pool;
+                if (current == null) {
+                    int threads = setting > 0 ? setting : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                    current = new ForkJoinPool(threads, RadiationAsyncScanner::createWorker, null, true);
+                    poolWorkerSetting = setting;
+                    warnedWorkerSetting = setting;
+                    pool = current;
+                }
+            }
+        } else if (setting != warnedWorkerSetting) {
+            warnedWorkerSetting = setting;
+            if (setting != poolWorkerSetting) {
+                LOGGER.warn("asyncWorkerThreads was changed to {}, but the radiation worker pool keeps its {} workers until restart",
+                        setting, current.getParallelism());
+            }
+        }
+        return current;
+    }
+
+    private static ForkJoinWorkerThread createWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("Irradiated Radiation Worker-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,107 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.biome.Biome;
+import net.neoforged.fml.event.config.ModConfigEvent;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Biome radiation compiled for every biome in the biome registry.
+ *
+ * <p>Biome holders from a registry are unique, so radiation is looked up by holder identity
+ * instead of building the biome's registry name on every check. Every biome has an entry,
+ * including the ones that give no radiation.</p>
+ *
+ * <p>Values come from the datapack entries loaded by {@link RadiationEnvironmentLoader},
+ * with biome tags expanded at compile time. The table is compiled lazily for the server's
+ * biome registry and thrown away whenever datapacks or tags are reloaded, the config is
+ * loaded or reloaded, or the registry changes.</p>
+ */
+public class RadiationBiomeTable {
+
+    private static volatile List<EnvironmentRadiationEntry> entries = List.of();
+    private static volatile RadiationBiomeTable current;
+
+    private final Registry<Biome> registry;
+    private final Map<Holder<Biome>, EnvironmentRadiation> values = new IdentityHashMap<>();
+
+    private RadiationBiomeTable(Registry<Biome> registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Get the table for a registry access's biome registry, compiling it if needed
+     */
+    public static RadiationBiomeTable get(RegistryAccess registryAccess) {
+        Registry<Biome> registry = registryAccess.registryOrThrow(Registries.BIOME);
+        RadiationBiomeTable table = current;
+        if (table == null || table.registry != registry) {
+            table = compile(registry, entries);
+            current = table;
+        }
+        return table;
+    }
+
+    /**
+     * Replace the datapack entries the table is compiled from
+     */
+    static void setEntries(List<EnvironmentRadiationEntry> newEntries) {
+        entries = newEntries;
+        invalidate();
+    }
+
+    /**
+     * Discard the current table so it is recompiled on next use
+     */
+    public static void invalidate() {
+        current = null;
+    }
+
+    /**
+     * Recompile after the radiation config is loaded or changed on disk
+     */
+    public static void onConfigChanged(ModConfigEvent event) {
+        if (event.getConfig().getSpec() == RadiationConfig.SPEC) {
+            invalidate();
+        }
+    }
+
+    /**
+     * @return The radiation given off by a biome, or {@link EnvironmentRadiation#NONE} for biomes not in the registry
+     */
+    public EnvironmentRadiation get(Holder<Biome> biome) {
+        EnvironmentRadiation radiation = values.get(biome);
+        return radiation != null ? radiation : EnvironmentRadiation.NONE;
+    }
+
+    private static RadiationBiomeTable compile(Registry<Biome> registry, List<EnvironmentRadiationEntry> entries) {
+        RadiationBiomeTable table = new RadiationBiomeTable(registry);
+
+        // Biomes without an entry give no radiation
+        registry.holders().forEach(holder -> table.values.put(holder, EnvironmentRadiation.NONE));
+
+        // Later entries override earlier ones
+        for (EnvironmentRadiationEntry entry : entries) {
+            EnvironmentRadiation radiation = entry.resolve();
+            for (ResourceLocation tag : entry.tagTargets) {
+                registry.getTag(TagKey.create(Registries.BIOME, tag))
+                        .ifPresent(biomes -> biomes.forEach(biome -> table.values.put(biome, radiation)));
+            }
+            for (ResourceLocation biome : entry.targets) {
+                registry.getHolder(ResourceKey.create(Registries.BIOME, biome))
+                        .ifPresent(holder -> table.values.put(holder, radiation));
+            }
+        }
+
+        return table;
+    }
+}
@@ -0,0 +1,219 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import com.momosoftworks.irradiated.common.jfr.RadiationScanEvent;
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Block radiation scanner.
+ * Collects everything the radiation system needs from the blocks around a position
+ * in one pass: the summed intensity, the highest max exposure and the list of
+ * contributing sources. Only the sources recorded in {@link RadiationSourceIndex}
+ * are visited, so the cost scales with the number of nearby sources rather than
+ * with the size of the scanned cube. Distance falloff is read from a precomputed
+ * {@link RadiationFalloffKernel}.
+ */
+public class RadiationBlockScanner {
+
+    /**
+     * Scan the blocks around a position for radiation sources
+     * @param world The level to scan
+     * @param center The receiving position (usually the player's block position)
+     * @param range Half-size of the scanned cube in blocks
+     * @param shieldingEnabled Whether blocks between source and receiver reduce intensity
+     * @return The combined result of the scan
+     */
+    public static ScanResult scan(Level world, BlockPos center, int range, boolean shieldingEnabled) {
+        return scan(new LevelView(world), center, range, shieldingEnabled);
+    }
+
+    /**
+     * Scan the blocks around a position for radiation sources, reading blocks and sources from a view
+     * @see #scan(Level, BlockPos, int, boolean)
+     */
+    public static ScanResult scan(View view, BlockPos center, int range, boolean shieldingEnabled) {
+        RadiationScanEvent event = new RadiationScanEvent();
+        event.begin();
+        int sectionsVisited = 0, blocksScanned = 0, shieldingRays = 0; // Only reported to JFR
+
+        RadiationBlockTable table = RadiationBlockTable.get();
+        RadiationFalloffKernel falloff = RadiationFalloffKernel.get(range);
+        float totalIntensity = 0.0f;
+        float maxExposure = 0.0f;
+        List<SourceHit> sources = null;
+
+        int minX = center.getX() - range, maxX = center.getX() + range;
+        int minY = center.getY() - range, maxY = center.getY() + range;
+        int minZ = center.getZ() - range, maxZ = center.getZ() + range;
+        BlockPos.MutableBlockPos sourcePos = new BlockPos.MutableBlockPos();
+
+        for (int sectionX = SectionPos.blockToSectionCoord(minX); sectionX <= SectionPos.blockToSectionCoord(maxX); sectionX++) {
+            for (int sectionZ = SectionPos.blockToSectionCoord(minZ); sectionZ <= SectionPos.blockToSectionCoord(maxZ); sectionZ++) {
+                for (int sectionY = SectionPos.blockToSectionCoord(minY); sectionY <= SectionPos.blockToSectionCoord(maxY); sectionY++) {
+                    ShortSet sectionSources = view.getSectionSources(sectionX, sectionY, sectionZ);
+                    sectionsVisited++;
+                    if (sectionSources == null) {
+                        continue;
+                    }
+
+                    ShortIterator iterator = sectionSources.iterator();
+                    while (iterator.hasNext()) {
+                        short localPos = iterator.nextShort();
+                        blocksScanned++;
+                        int blockX = SectionPos.sectionToBlockCoord(sectionX, SectionPos.sectionRelativeX(localPos));
+                        int blockY = SectionPos.sectionToBlockCoord(sectionY, SectionPos.sectionRelativeY(localPos));
+                        int blockZ = SectionPos.sectionToBlockCoord(sectionZ, SectionPos.sectionRelativeZ(localPos));
+
+                        // Sections overlap the edges of the cube, skip sources outside of it
+                        if (blockX < minX || blockX > maxX || blockY < minY || blockY > maxY || blockZ < minZ || blockZ > maxZ) {
+                            continue;
+                        }
+
+                        sourcePos.set(blockX, blockY, blockZ);
+                        BlockState blockState = view.getBlockState(sourcePos);
+                        int stateId = RadiationBlockTable.stateId(blockState);
+                        if (!table.isRadioactive(stateId)) {
+                            // Changed without a neighbor update, drop the stale entry
+                            iterator.remove();
+                            continue;
+                        }
+
+                        maxExposure = Math.max(maxExposure, table.getMaxLevel(stateId));
+
+                        int x = blockX - center.getX();
+                        int y = blockY - center.getY();
+                        int z = blockZ - center.getZ();
+                        int distanceSqr = x * x + y * y + z * z;
+                        double distance = falloff.getDistance(distanceSqr);
+
+                        // Intensity decreases with distance
+                        float baseIntensity = table.getIntensity(stateId);
+                        float adjustedIntensity = baseIntensity * falloff.getFactor(distanceSqr);
+
+                        // Apply shielding reduction if enabled
+                        float shielding = 0.0f;
+                        if (shieldingEnabled && adjustedIntensity > 0) {
+                            long start = RadiationProfiler.start();
+                            shielding = view.getShielding(sourcePos, center);
+                            RadiationProfiler.end(RadiationProfiler.Stage.SHIELDING, start);
+                            shieldingRays++;
+                            adjustedIntensity *= (1.0f - shielding);
+                        }
+
+                        totalIntensity += adjustedIntensity;
+
+                        if (sources == null) {
+                            sources = new ArrayList<>();
+                        }
+                        sources.add(new SourceHit(sourcePos.immutable(), blockState.getBlock(), distance, adjustedIntensity, shielding));
+                    }
+                }
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.x = center.getX();
+            event.y = center.getY();
+            event.z = center.getZ();
+            event.range = range;
+            event.sectionsVisited = sectionsVisited;
+            event.blocksScanned = blocksScanned;
+            event.sourcesFound = sources != null ? sources.size() : 0;
+            event.shieldingRays = shieldingRays;
+            event.intensity = totalIntensity;
+            event.commit();
+        }
+
+        return new ScanResult(totalIntensity, maxExposure,
+                sources != null ? sources : Collections.emptyList());
+    }
+
+    /**
+     * Blocks and radiation sources a scan reads from
+     */
+    public interface View {
+        /**
+         * @return Radioactive block positions in a section, packed like {@link SectionPos#sectionRelativePos},
+         *         or null if there are none. Stale entries may be removed through the set's iterator.
+         */
+        ShortSet getSectionSources(int sectionX, int sectionY, int sectionZ);
+
+        BlockState getBlockState(BlockPos pos);
+
+        /**
+         * @return Shielding reduction factor (0.0 to 1.0) between a source and the receiver
+         */
+        float getShielding(BlockPos sourcePos, BlockPos receiverPos);
+    }
+
+    /**
+     * Reads directly from a live level, using the source index and shielding cache.
+     * Server thread only.
+     */
+    private static class LevelView implements View {
+        private final Level level;
+
+        LevelView(Level level) {
+            this.level = level;
+        }
+
+        @Override
+        public ShortSet getSectionSources(int sectionX, int sectionY, int sectionZ) {
+            return RadiationSourceIndex.getSectionSources(level, sectionX, sectionY, sectionZ);
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            return level.getBlockState(pos);
+        }
+
+        @Override
+        public float getShielding(BlockPos sourcePos, BlockPos receiverPos) {
+            return RadiationShieldingCache.getShieldingFactor(level, sourcePos, receiverPos);
+        }
+    }
+
+    /**
+     * Result of a block radiation scan
+     */
+    public static class ScanResult {
+        public final float totalIntensity;     // Summed per-tick intensity of all sources
+        public final float maxExposure;        // Highest max level of any source in range
+        public final List<SourceHit> sources;  // Every configured radioactive block found
+
+        public ScanResult(float totalIntensity, float maxExposure, List<SourceHit> sources) {
+            this.totalIntensity = totalIntensity;
+            this.maxExposure = maxExposure;
+            this.sources = sources;
+        }
+    }
+
+    /**
+     * A single radioactive block found during a scan
+     */
+    public static class SourceHit {
+        public final BlockPos pos;
+        public final Block block;
+        public final double distance;    // Distance to the receiving position in blocks
+        public final float intensity;    // Per-tick intensity after falloff and shielding
+        public final float shielding;    // Shielding reduction factor (0.0 to 1.0)
+
+        public SourceHit(BlockPos pos, Block block, double distance, float intensity, float shielding) {
+            this.pos = pos;
+            this.block = block;
+            this.distance = distance;
+            this.intensity = intensity;
+            this.shielding = shielding;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.fml.event.config.ModConfigEvent;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Block radiation and shielding values compiled from the config into flat arrays
+ * indexed by block state id.
+ *
+ * <p>Looking up a block state is a single array access instead of building the
+ * block's registry name and hashing it into a string-keyed map. The table is
+ * compiled lazily on first use and thrown away whenever the config is loaded or
+ * reloaded, so edits to {@link RadiationConfig#RADIOACTIVE_BLOCKS} and
+ * {@link RadiationConfig#SHIELDING_BLOCKS} take effect without a restart.</p>
+ */
+public class RadiationBlockTable {
+
+    private static volatile RadiationBlockTable current;
+
+    private final boolean[] radioactive;   // Whether the state emits radiation
+    private final float[] intensity;       // Base per-tick intensity (chance per second / 20)
+    private final int[] maxLevel;          // Max radiation level the state can cause
+    private final float[] shielding;       // Percentage of radiation blocked (0 for air and non-solid blocks)
+
+    private RadiationBlockTable(int stateCount) {
+        this.radioactive = new boolean[stateCount];
+        this.intensity = new float[stateCount];
+        this.maxLevel = new int[stateCount];
+        this.shielding = new float[stateCount];
+    }
+
+    /**
+     * Get the current table, compiling it from the config if needed
+     */
+    public static RadiationBlockTable get() {
+        RadiationBlockTable table = current;
+        if (table == null) {
+            table = compile(RadiationConfig.RADIOACTIVE_BLOCKS.get(), RadiationConfig.SHIELDING_BLOCKS.get(),
+                    RadiationConfig.DEFAULT_BLOCK_SHIELDING.get());
+            current = table;
+        }
+        return table;
+    }
+
+    /**
+     * Compile a table from the config's default values. Works before the config is loaded.
+     */
+    static RadiationBlockTable compileDefaults() {
+        return compile(RadiationConfig.RADIOACTIVE_BLOCKS.getDefault(), RadiationConfig.SHIELDING_BLOCKS.getDefault(),
+                RadiationConfig.DEFAULT_BLOCK_SHIELDING.getDefault());
+    }
+
+    /**
+     * Use a fixed table until the config is next loaded or reloaded (for benchmarks run without a game)
+     */
+    static void set(RadiationBlockTable table) {
+        current = table;
+    }
+
+    /**
+     * Discard the current table so it is recompiled on next use
+     */
+    public static void invalidate() {
+        current = null;
+    }
+
+    /**
+     * Recompile after the radiation config is loaded or changed on disk
+     */
+    public static void onConfigChanged(ModConfigEvent event) {
+        if (event.getConfig().getSpec() == RadiationConfig.SPEC) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Get the id used to index the table for a block state
+     */
+    public static int stateId(BlockState state) {
+        return Block.getId(state);
+    }
+
+    public boolean isRadioactive(BlockState state) {
+        return isRadioactive(stateId(state));
+    }
+
+    public boolean isRadioactive(int stateId) {
+        return stateId >= 0 && stateId < radioactive.length && radioactive[stateId];
+    }
+
+    /**
+     * @return Base per-tick intensity of a radioactive state, before falloff and shielding
+     */
+    public float getIntensity(int stateId) {
+        return intensity[stateId];
+    }
+
+    public int getMaxLevel(int stateId) {
+        return maxLevel[stateId];
+    }
+
+    /**
+     * @return Shielding percentage (0-100) provided by a block state
+     */
+    public float getShielding(BlockState state) {
+        int stateId = stateId(state);
+        return stateId >= 0 && stateId < shielding.length ? shielding[stateId] : 0.0f;
+    }
+
+    private static RadiationBlockTable compile(List<? extends String> radioactiveBlocks,
+                                               List<? extends String> shieldingBlocks,
+                                               double defaultShielding) {
+        RadiationBlockTable table = new RadiationBlockTable(Block.BLOCK_STATE_REGISTRY.size());
+
+        // Solid blocks shield by default; air and non-solid blocks never do
+        for (BlockState state : Block.BLOCK_STATE_REGISTRY) {
+            if (!state.isAir() && state.isSolidRender(EmptyBlockGetter.INSTANCE, BlockPos.ZERO)) {
+                table.shielding[stateId(state)] = (float) defaultShielding;
+            }
+        }
+
+        // Format: "modid:block_name:shielding_percent"
+        for (String entry : shieldingBlocks) {
+            String[] parts = entry.split(":");
+            if (parts.length >= 3) {
+                try {
+                    float value = Float.parseFloat(parts[2]);
+                    findBlock(parts[0], parts[1]).ifPresent(block -> {
+                        for (BlockState state : block.getStateDefinition().getPossibleStates()) {
+                            if (!state.isAir() && state.isSolidRender(EmptyBlockGetter.INSTANCE, BlockPos.ZERO)) {
+                                table.shielding[stateId(state)] = value;
+                            }
+                        }
+                    });
+                } catch (NumberFormatException e) {
+                    // Invalid format, skip this entry
+                }
+            }
+        }
+
+        // Format: "modid:block_name:chance_per_second:max_level"
+        for (String entry : radioactiveBlocks) {
+            String[] parts = entry.split(":");
+            if (parts.length >= 4) {
+                try {
+                    double chance = Double.parseDouble(parts[2]);
+                    int level = Integer.parseInt(parts[3]);
+                    findBlock(parts[0], parts[1]).ifPresent(block -> {
+                        for (BlockState state : block.getStateDefinition().getPossibleStates()) {
+                            int id = stateId(state);
+                            table.radioactive[id] = true;
+                            table.intensity[id] = (float) chance / 20.0f;
+                            table.maxLevel[id] = level;
+                        }
+                    });
+                } catch (NumberFormatException e) {
+                    // Invalid format, skip this entry
+                }
+            }
+        }
+
+        return table;
+    }
+
+    private static Optional<Block> findBlock(String namespace, String path) {
+        ResourceLocation blockId = ResourceLocation.tryBuild(namespace, path);
+        return blockId != null ? BuiltInRegistries.BLOCK.getOptional(blockId) : Optional.empty();
+    }
+}
@@ -0,0 +1,121 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-chunk-section change stamps, used to tell whether cached radiation results are still valid.
+ *
+ * <p>Each chunk section has a stamp that is set to the next value of a per-level counter
+ * whenever a block in it changes, and each loaded chunk has one that is set the same way
+ * when the chunk is loaded (see {@link RadiationWorldEvents}). A section's effective stamp
+ * is the higher of its own and its chunk's. The counter only ever grows, so the highest
+ * stamp over a box changes if and only if something in that box changed since it was
+ * taken. Changes far above or below a box don't affect it.</p>
+ *
+ * <p>A chunk's stamps are dropped when the chunk unloads, so only loaded chunks are kept.
+ * Loading the chunk again gives it a new stamp higher than any before, which invalidates
+ * anything cached against it before it unloaded.</p>
+ *
+ * <p><b>Thread Safety:</b> Server thread only.</p>
+ */
+public class RadiationChangeTracker {
+
+    private static final Map<LevelAccessor, LevelStamps> LEVEL_STAMPS = new WeakHashMap<>();
+
+    /**
+     * Record a change to the chunk section containing a block position
+     */
+    static void onBlockChanged(LevelAccessor level, BlockPos pos) {
+        LevelStamps stamps = getStamps(level);
+        stamps.sections.put(SectionPos.asLong(pos), ++stamps.counter);
+    }
+
+    /**
+     * Record a change to a whole chunk
+     */
+    static void onChunkChanged(LevelAccessor level, ChunkPos chunkPos) {
+        LevelStamps stamps = getStamps(level);
+        stamps.chunks.put(chunkPos.toLong(), ++stamps.counter);
+    }
+
+    /**
+     * Drop the stamps of a chunk that unloaded
+     */
+    static void onChunkUnloaded(LevelAccessor level, ChunkPos chunkPos) {
+        LevelStamps stamps = LEVEL_STAMPS.get(level);
+        if (stamps != null) {
+            stamps.chunks.remove(chunkPos.toLong());
+            for (int sectionY = level.getMinSection(); sectionY < level.getMaxSection(); sectionY++) {
+                stamps.sections.remove(SectionPos.asLong(chunkPos.x, sectionY, chunkPos.z));
+            }
+        }
+    }
+
+    /**
+     * Drop all stamps for a level
+     */
+    static void removeLevel(LevelAccessor level) {
+        LEVEL_STAMPS.remove(level);
+    }
+
+    /**
+     * Get the combined stamp of every chunk section overlapping a box of block positions
+     */
+    static long getStamp(LevelAccessor level, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        LevelStamps stamps = LEVEL_STAMPS.get(level);
+        if (stamps == null) {
+            return 0;
+        }
+
+        int minSectionY = SectionPos.blockToSectionCoord(minY);
+        int maxSectionY = SectionPos.blockToSectionCoord(maxY);
+        long stamp = 0;
+        for (int chunkX = SectionPos.blockToSectionCoord(minX); chunkX <= SectionPos.blockToSectionCoord(maxX); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(minZ); chunkZ <= SectionPos.blockToSectionCoord(maxZ); chunkZ++) {
+                stamp = Math.max(stamp, stamps.chunks.get(ChunkPos.asLong(chunkX, chunkZ)));
+                if (!stamps.sections.isEmpty()) {
+                    for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                        stamp = Math.max(stamp, stamps.sections.get(SectionPos.asLong(chunkX, sectionY, chunkZ)));
+                    }
+                }
+            }
+        }
+        return stamp;
+    }
+
+    /**
+     * Get the combined stamp of every chunk section within a range of a block position
+     */
+    static long getStamp(LevelAccessor level, BlockPos center, int range) {
+        return getStamp(level, center.getX() - range, center.getY() - range, center.getZ() - range,
+                center.getX() + range, center.getY() + range, center.getZ() + range);
+    }
+
+    /**
+     * Get the combined stamp of every chunk section in the box spanned by two block positions
+     */
+    static long getStamp(LevelAccessor level, BlockPos from, BlockPos to) {
+        return getStamp(level, Math.min(from.getX(), to.getX()), Math.min(from.getY(), to.getY()), Math.min(from.getZ(), to.getZ()),
+                Math.max(from.getX(), to.getX()), Math.max(from.getY(), to.getY()), Math.max(from.getZ(), to.getZ()));
+    }
+
+    private static LevelStamps getStamps(LevelAccessor level) {
+        return LEVEL_STAMPS.computeIfAbsent(level, k -> new LevelStamps());
+    }
+
+    /**
+     * Stamps of a single level's loaded chunks and their sections
+     */
+    private static class LevelStamps {
+        final Long2LongOpenHashMap chunks = new Long2LongOpenHashMap();
+        final Long2LongOpenHashMap sections = new Long2LongOpenHashMap();
+        long counter = 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import com.momosoftworks.irradiated.common.network.RadiationSyncPayload;
+import com.momosoftworks.irradiated.core.init.ModAttachments;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+/**
+ * Keeps each client's copy of its player's radiation state up to date for the HUD.
+ *
+ * <p>The server sends a {@link RadiationSyncPayload} only when something the HUD shows has
+ * meaningfully changed, and at most every {@link #MIN_SYNC_INTERVAL} ticks. The client
+ * stores the received values in its own player's {@link DynamicRadiationData}, so the
+ * radiation getters in {@link DynamicRadiationHandler} and {@link com.momosoftworks.irradiated.api.radiation.RadiationAPI}
+ * return the exact exposure on both sides.</p>
+ *
+ * <p>A full sync is forced the first time a player is ticked and after they change
+ * dimension, since the client creates a new player (and loses its attachments) in both cases.</p>
+ */
+public class RadiationClientSync {
+
+    // Minimum ticks between two syncs to the same player
+    private static final int MIN_SYNC_INTERVAL = 10;
+    // Smallest change in exposure worth syncing
+    private static final float EXPOSURE_THRESHOLD = 0.1f;
+    // Smallest change in trend (per second) worth syncing
+    private static final float TREND_THRESHOLD = 0.25f;
+    // Trends smaller than this (per second) are shown as steady
+    private static final float STEADY_TREND = 0.01f;
+
+    /**
+     * Send the player's radiation state to their client if it changed enough since the last sync.
+     * Called on the server thread every tick, after the player's radiation is updated, and also while dynamic
+     * radiation is disabled, since commands and items still change it.
+     */
+    static void sync(ServerPlayer player, DynamicRadiationData data, long tick) {
+        boolean force = !data.synced || data.syncedLevel != player.level();
+        if (!force) {
+            if (tick - data.lastSyncTick < MIN_SYNC_INTERVAL || !hasChanged(data)) {
+                return;
+            }
+        }
+
+        PacketDistributor.sendToPlayer(player, new RadiationSyncPayload(data.currentExposure, data.exposureTrend,
+                data.activeSources, data.blockSourceCount));
+        data.synced = true;
+        data.syncedLevel = player.level();
+        data.syncedExposure = data.currentExposure;
+        data.syncedTrend = data.exposureTrend;
+        data.syncedSources = data.activeSources;
+        data.syncedBlockSources = data.blockSourceCount;
+        data.lastSyncTick = tick;
+    }
+
+    private static boolean hasChanged(DynamicRadiationData data) {
+        if (data.activeSources != data.syncedSources || data.blockSourceCount != data.syncedBlockSources) {
+            return true;
+        }
+        if (data.currentExposure != data.syncedExposure
+                && (Math.abs(data.currentExposure - data.syncedExposure) >= EXPOSURE_THRESHOLD || data.currentExposure == 0)) {
+            return true;
+        }
+        return getTrendSign(data.exposureTrend) != getTrendSign(data.syncedTrend)
+                || Math.abs(data.exposureTrend - data.syncedTrend) >= TREND_THRESHOLD;
+    }
+
+    private static int getTrendSign(float trend) {
+        return Math.abs(trend) < STEADY_TREND ? 0 : (trend > 0 ? 1 : -1);
+    }
+
+    /**
+     * Store a received sync on the client's player
+     */
+    public static void onSyncReceived(Player player, RadiationSyncPayload payload) {
+        DynamicRadiationData data = player.getData(ModAttachments.RADIATION_DATA);
+        data.currentExposure = payload.exposure();
+        data.exposureTrend = Math.abs(payload.trend()) < STEADY_TREND ? 0 : payload.trend();
+        data.activeSources = payload.sources();
+        data.blockSourceCount = payload.blockSources();
+    }
+}
@@ -58,11 +58,17 @@ public class RadiationConfig {
     // Block radiation
     public static final ModConfigSpec.IntValue BLOCK_RADIATION_RANGE;
     public static final ModConfigSpec.ConfigValue<java.util.List<? extends String>> RADIOACTIVE_BLOCKS;
+    public static final ModConfigSpec.EnumValue<RadiationFalloff> BLOCK_RADIATION_FALLOFF;
+    public static final ModConfigSpec.DoubleValue EXPONENTIAL_FALLOFF_LENGTH;
+    public static final ModConfigSpec.BooleanValue SHARE_RADIATION_FIELD;
+    public static final ModConfigSpec.BooleanValue ASYNC_BLOCK_RADIATION;
+    public static final ModConfigSpec.IntValue ASYNC_WORKER_THREADS;
     
     // Radiation shielding
     public static final ModConfigSpec.BooleanValue ENABLE_RADIATION_SHIELDING;
     public static final ModConfigSpec.DoubleValue DEFAULT_BLOCK_SHIELDING;
     public static final ModConfigSpec.ConfigValue<java.util.List<? extends String>> SHIELDING_BLOCKS;
+    public static final ModConfigSpec.IntValue SHIELDING_CACHE_SIZE;
     
     // Armor protection
     public static final ModConfigSpec.BooleanValue ENABLE_ARMOR_PROTECTION;
@@ -73,6 +79,8 @@ public class RadiationConfig {
     public static final ModConfigSpec.DoubleValue RADIATION_BUILDUP_RATE;
     public static final ModConfigSpec.DoubleValue RADIATION_DECAY_RATE;
     public static final ModConfigSpec.IntValue RADIATION_DECAY_DELAY;
+    public static final ModConfigSpec.IntValue MIN_SAMPLE_INTERVAL;
+    public static final ModConfigSpec.IntValue MAX_SAMPLE_INTERVAL;
     
     // Water decontamination settings
     public static final ModConfigSpec.BooleanValue ENABLE_WATER_DECONTAMINATION;
@@ -165,6 +173,10 @@ public class RadiationConfig {
         BUILDER.pop();
         
         BUILDER.push("Biome Radiation Settings");
+        BUILDER.comment(
+            "Values used by the mod's built-in biome radiation datapack entries.",
+            "Which biomes are radioactive is defined by datapacks in data/<namespace>/irradiated/biome_radiation/"
+        );
         
         DESERT_RADIATION_CHANCE = BUILDER
                 .comment("Chance per second for desert radiation (0.0-1.0)")
@@ -193,6 +205,10 @@ public class RadiationConfig {
         BUILDER.pop();
         
         BUILDER.push("Dimension Radiation Settings");
+        BUILDER.comment(
+            "Values used by the mod's built-in dimension radiation datapack entries.",
+            "Which dimensions are radioactive is defined by datapacks in data/<namespace>/irradiated/dimension_radiation/"
+        );
         
         NETHER_RADIATION_CHANCE = BUILDER
                 .comment("Chance per second for nether radiation (0.0-1.0)")
@@ -233,6 +249,54 @@ public class RadiationConfig {
                     ),
                     obj -> obj instanceof String && ((String) obj).split(":").length >= 4);
 
+        BLOCK_RADIATION_FALLOFF = BUILDER
+                .comment(
+                    "How block radiation weakens with distance from the source.",
+                    "  - LINEAR: Drops evenly, reaching zero at 1.2x the block radiation range",
+                    "  - INVERSE_SQUARE: Full strength within 1 block, then 1/distance^2 (like a point source)",
+                    "  - EXPONENTIAL: e^(-distance/length), see exponentialFalloffLength",
+                    "Default: LINEAR"
+                )
+                .defineEnum("blockRadiationFalloff", RadiationFalloff.LINEAR);
+
+        EXPONENTIAL_FALLOFF_LENGTH = BUILDER
+                .comment(
+                    "Distance in blocks over which EXPONENTIAL falloff weakens radiation by a factor of e (~2.7).",
+                    "Only used when blockRadiationFalloff is EXPONENTIAL.",
+                    "Default: 4.0"
+                )
+                .defineInRange("exponentialFalloffLength", 4.0, 0.5, 64.0);
+
+        SHARE_RADIATION_FIELD = BUILDER
+                .comment(
+                    "Share block radiation between players standing close together.",
+                    "When enabled, block radiation is measured once for each 2x2x2 block cell that contains",
+                    "a player, and every player in that cell uses the same result until a block changes nearby.",
+                    "This greatly reduces the cost of groups of players at bases and mines.",
+                    "Default: true"
+                )
+                .define("shareRadiationField", true);
+
+        ASYNC_BLOCK_RADIATION = BUILDER
+                .comment(
+                    "Scan for radioactive blocks on background worker threads instead of the server thread.",
+                    "The server thread only copies the chunk sections around each player; the scan itself",
+                    "runs in parallel and its result is applied on a following tick.",
+                    "Recommended for servers with many players and spare CPU cores.",
+                    "Default: false"
+                )
+                .define("asyncBlockRadiation", false);
+
+        ASYNC_WORKER_THREADS = BUILDER
+                .comment(
+                    "Number of worker threads used when asyncBlockRadiation is enabled.",
+                    "Set to 0 to use half of the available CPU cores.",
+                    "Changes take effect after a restart.",
+                    "Default: 0"
+                )
+                .gameRestart()
+                .defineInRange("asyncWorkerThreads", 0, 0, 64);
+
         BUILDER.pop();
         
         BUILDER.push("Radiation Shielding");
@@ -289,6 +353,15 @@ public class RadiationConfig {
                     ),
                     obj -> obj instanceof String && ((String) obj).split(":").length >= 3);
 
+        SHIELDING_CACHE_SIZE = BUILDER
+                .comment(
+                    "Maximum number of source-to-player shielding results kept per dimension.",
+                    "Results are reused until a block changes in a chunk between the source and the player.",
+                    "Set to 0 to disable the cache and trace every ray.",
+                    "Default: 4096"
+                )
+                .defineInRange("shieldingCacheSize", 4096, 0, 65536);
+
         BUILDER.pop();
         
         BUILDER.push("Armor Protection");
@@ -362,6 +435,23 @@ public class RadiationConfig {
                 )
                 .defineInRange("radiationDecayDelay", 180, 30, 1800);
 
+        MIN_SAMPLE_INTERVAL = BUILDER
+                .comment(
+                    "Shortest time in ticks between two checks of a player's surroundings for radiation.",
+                    "Used while the player moves quickly or a block changed nearby.",
+                    "Between checks, the radiation intensity is smoothly interpolated.",
+                    "Default: 2"
+                )
+                .defineInRange("minSampleInterval", 2, 1, 20);
+
+        MAX_SAMPLE_INTERVAL = BUILDER
+                .comment(
+                    "Longest time in ticks between two checks of a player's surroundings for radiation.",
+                    "Used while the player stands still and nothing changes nearby.",
+                    "Default: 20"
+                )
+                .defineInRange("maxSampleInterval", 20, 1, 100);
+
         BUILDER.pop();
         
         BUILDER.push("Water Decontamination");
@@ -0,0 +1,80 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.neoforged.fml.event.config.ModConfigEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dimension radiation compiled from the datapack entries loaded by {@link RadiationEnvironmentLoader}.
+ *
+ * <p>The table is compiled lazily and thrown away whenever datapacks are reloaded or the
+ * config is loaded or reloaded. Dimensions without an entry give no radiation.</p>
+ */
+public class RadiationDimensionTable {
+
+    private static volatile List<EnvironmentRadiationEntry> entries = List.of();
+    private static volatile RadiationDimensionTable current;
+
+    private final Map<ResourceKey<Level>, EnvironmentRadiation> values = new HashMap<>();
+
+    /**
+     * Get the current table, compiling it if needed
+     */
+    public static RadiationDimensionTable get() {
+        RadiationDimensionTable table = current;
+        if (table == null) {
+            table = compile(entries);
+            current = table;
+        }
+        return table;
+    }
+
+    /**
+     * Replace the datapack entries the table is compiled from
+     */
+    static void setEntries(List<EnvironmentRadiationEntry> newEntries) {
+        entries = newEntries;
+        invalidate();
+    }
+
+    /**
+     * Discard the current table so it is recompiled on next use
+     */
+    public static void invalidate() {
+        current = null;
+    }
+
+    /**
+     * Recompile after the radiation config is loaded or changed on disk
+     */
+    public static void onConfigChanged(ModConfigEvent event) {
+        if (event.getConfig().getSpec() == RadiationConfig.SPEC) {
+            invalidate();
+        }
+    }
+
+    /**
+     * @return The radiation given off by a dimension, or {@link EnvironmentRadiation#NONE} if it has no entry
+     */
+    public EnvironmentRadiation get(ResourceKey<Level> dimension) {
+        return values.getOrDefault(dimension, EnvironmentRadiation.NONE);
+    }
+
+    private static RadiationDimensionTable compile(List<EnvironmentRadiationEntry> entries) {
+        RadiationDimensionTable table = new RadiationDimensionTable();
+        // Later entries override earlier ones
+        for (EnvironmentRadiationEntry entry : entries) {
+            EnvironmentRadiation radiation = entry.resolve();
+            for (ResourceLocation dimension : entry.targets) {
+                table.values.put(ResourceKey.create(Registries.DIMENSION, dimension), radiation);
+            }
+        }
+        return table;
+    }
+}
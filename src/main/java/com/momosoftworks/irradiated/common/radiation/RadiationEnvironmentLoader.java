@@ -0,0 +1,77 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.neoforged.neoforge.event.AddReloadListenerEvent;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Loads biome and dimension radiation from datapacks.
+ *
+ * <p>Files are read from {@code data/<namespace>/irradiated/biome_radiation/*.json} and
+ * {@code data/<namespace>/irradiated/dimension_radiation/*.json} (see
+ * {@link EnvironmentRadiationEntry} for the format). Files are applied in order of their
+ * ids, so when several files list the same biome, the last one wins. A datapack can
+ * replace one of the mod's files by providing a file with the same id.</p>
+ *
+ * <p>Parsed entries are handed to {@link RadiationBiomeTable} and {@link RadiationDimensionTable},
+ * which compile them into lookup tables on first use. Since tags aren't bound yet while
+ * datapacks load, biome tables are also recompiled when tags are updated.</p>
+ */
+public class RadiationEnvironmentLoader extends SimpleJsonResourceReloadListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RadiationEnvironmentLoader.class);
+    private static final Gson GSON = new GsonBuilder().create();
+
+    private final String targetsKey;
+    private final Consumer<List<EnvironmentRadiationEntry>> consumer;
+
+    private RadiationEnvironmentLoader(String directory, String targetsKey, Consumer<List<EnvironmentRadiationEntry>> consumer) {
+        super(GSON, directory);
+        this.targetsKey = targetsKey;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Register the biome and dimension radiation loaders
+     */
+    public static void onAddReloadListeners(AddReloadListenerEvent event) {
+        event.addListener(new RadiationEnvironmentLoader("irradiated/biome_radiation", "biomes", RadiationBiomeTable::setEntries));
+        event.addListener(new RadiationEnvironmentLoader("irradiated/dimension_radiation", "dimensions", RadiationDimensionTable::setEntries));
+    }
+
+    /**
+     * Recompile biome tables once tags are bound
+     */
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        RadiationBiomeTable.invalidate();
+    }
+
+    @Override
+    protected void apply(Map<ResourceLocation, JsonElement> files, ResourceManager resourceManager, ProfilerFiller profiler) {
+        List<EnvironmentRadiationEntry> entries = new ArrayList<>();
+        // Sort by id so overlapping files resolve the same way every time
+        for (Map.Entry<ResourceLocation, JsonElement> file : new TreeMap<>(files).entrySet()) {
+            try {
+                entries.add(EnvironmentRadiationEntry.fromJson(file.getKey(), file.getValue(), targetsKey));
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to load radiation entry {}: {}", file.getKey(), e.getMessage());
+            }
+        }
+        consumer.accept(Collections.unmodifiableList(entries));
+        LOGGER.info("Loaded {} {} radiation entries", entries.size(), targetsKey.equals("biomes") ? "biome" : "dimension");
+    }
+}
@@ -0,0 +1,44 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+/**
+ * Models for how block radiation weakens with distance from its source.
+ * Selected with {@link RadiationConfig#BLOCK_RADIATION_FALLOFF}.
+ */
+public enum RadiationFalloff {
+    /**
+     * Drops evenly with distance, reaching zero at 1.2x the scan range
+     */
+    LINEAR {
+        @Override
+        public float getFactor(double distance, int range, double length) {
+            return Math.max(0.0f, 1.0f - (float) (distance / (range * 1.2)));
+        }
+    },
+    /**
+     * Full strength within one block, then falls off with the square of the distance
+     */
+    INVERSE_SQUARE {
+        @Override
+        public float getFactor(double distance, int range, double length) {
+            return (float) (1.0 / Math.max(1.0, distance * distance));
+        }
+    },
+    /**
+     * Weakens by a factor of e every {@code length} blocks, like attenuation through a medium
+     */
+    EXPONENTIAL {
+        @Override
+        public float getFactor(double distance, int range, double length) {
+            return (float) Math.exp(-distance / length);
+        }
+    };
+
+    /**
+     * Get the fraction of a source's intensity that remains at a distance
+     * @param distance Distance from the source in blocks
+     * @param range The block radiation scan range
+     * @param length Falloff length in blocks (used by {@link #EXPONENTIAL})
+     * @return Falloff factor (0.0 to 1.0)
+     */
+    public abstract float getFactor(double distance, int range, double length);
+}
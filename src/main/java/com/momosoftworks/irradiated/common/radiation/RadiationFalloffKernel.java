@@ -0,0 +1,69 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+/**
+ * Precomputed falloff factors and distances for every offset within the block radiation range.
+ *
+ * <p>Both only depend on the squared distance {@code dx*dx + dy*dy + dz*dz}, which is at most
+ * {@code 3 * range^2}, so the kernel is indexed by it instead of by each (dx, dy, dz)
+ * separately. That keeps it a few KB even at the maximum range, and replaces the
+ * {@code Math.sqrt} and falloff math per source with two array reads.</p>
+ *
+ * <p>The kernel is rebuilt whenever the range, falloff model or falloff length changes.</p>
+ */
+public class RadiationFalloffKernel {
+
+    private static volatile RadiationFalloffKernel current;
+
+    private final int range;
+    private final RadiationFalloff falloff;
+    private final double length;
+    private final float[] factors;    // Falloff factor by squared distance
+    private final float[] distances;  // Distance by squared distance
+
+    private RadiationFalloffKernel(int range, RadiationFalloff falloff, double length) {
+        this.range = range;
+        this.falloff = falloff;
+        this.length = length;
+
+        int size = 3 * range * range + 1;
+        this.factors = new float[size];
+        this.distances = new float[size];
+        for (int distanceSqr = 0; distanceSqr < size; distanceSqr++) {
+            double distance = Math.sqrt(distanceSqr);
+            this.distances[distanceSqr] = (float) distance;
+            this.factors[distanceSqr] = falloff.getFactor(distance, range, length);
+        }
+    }
+
+    /**
+     * Get the kernel for a range using the configured falloff model, rebuilding it if needed
+     */
+    public static RadiationFalloffKernel get(int range) {
+        CompiledRadiationConfig config = CompiledRadiationConfig.get();
+        RadiationFalloff falloff = config.falloff();
+        double length = config.exponentialFalloffLength();
+
+        RadiationFalloffKernel kernel = current;
+        if (kernel == null || kernel.range != range || kernel.falloff != falloff || kernel.length != length) {
+            kernel = new RadiationFalloffKernel(range, falloff, length);
+            current = kernel;
+        }
+        return kernel;
+    }
+
+    /**
+     * @param distanceSqr Squared distance to the source; at most {@code 3 * range^2}
+     * @return Fraction of the source's intensity that remains
+     */
+    public float getFactor(int distanceSqr) {
+        return factors[distanceSqr];
+    }
+
+    /**
+     * @param distanceSqr Squared distance to the source; at most {@code 3 * range^2}
+     * @return Distance to the source in blocks
+     */
+    public float getDistance(int distanceSqr) {
+        return distances[distanceSqr];
+    }
+}
@@ -0,0 +1,166 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Block radiation field shared between players, sampled on a coarse grid.
+ *
+ * <p>Players tend to cluster at bases and mines, where they would all scan nearly the same
+ * cube. Instead, the world is split into 2x2x2 block cells, and block radiation is scanned
+ * once per cell and kept. Every player in the cell uses that result, so the cost scales with
+ * the number of occupied cells rather than with the number of players, and players sampled
+ * on different ticks still share it.</p>
+ *
+ * <p><b>Receiver:</b> A cell is scanned from the block of the player whose lookup missed, so
+ * the receiver is always a position a player stood in rather than a floor or wall block at a
+ * fixed corner of the cell. Other players in the cell share that receiver, which is at most a
+ * block away from their own in each direction; for them, falloff and shielding rays are off by
+ * up to that block.</p>
+ *
+ * <p><b>Invalidation:</b> A cell remembers the {@link RadiationChangeTracker} stamp of the box
+ * it scanned, and is scanned again once a block changes in that box. Cells are also scanned
+ * again after {@link #MAX_AGE_TICKS}, and at most {@link #MAX_CELLS} are kept per level, the
+ * least recently used being dropped first. Everything is dropped when the config or block
+ * table changes.</p>
+ *
+ * <p>Enabled with {@link RadiationConfig#SHARE_RADIATION_FIELD}. Hits and misses are
+ * counted in {@link RadiationMetrics}. With async scanning, the running scan is shared
+ * the same way.</p>
+ *
+ * <p><b>Thread Safety:</b> Server thread only.</p>
+ */
+public class RadiationFieldCache {
+
+    // Most cells kept per level
+    static final int MAX_CELLS = 1024;
+    // Ticks after which a cell is scanned again even if nothing changed around it (one minute)
+    static final int MAX_AGE_TICKS = 1200;
+
+    // Cells scanned in every server level that has been queried
+    private static final Map<LevelAccessor, LevelField> LEVEL_FIELDS = new WeakHashMap<>();
+
+    /**
+     * Get block radiation at a position, reusing the result for its cell if it's still valid
+     * @param tick The current server tick
+     * @see RadiationBlockScanner#scan
+     */
+    public static RadiationBlockScanner.ScanResult scan(Level level, BlockPos pos, int range, boolean shieldingEnabled, long tick) {
+        if (!CompiledRadiationConfig.get().shareRadiationField()) {
+            return RadiationBlockScanner.scan(level, pos, range, shieldingEnabled);
+        }
+
+        LevelField field = getField(level, range, shieldingEnabled);
+        long cellKey = getCellKey(pos);
+
+        Cell cell = field.cells.getAndMoveToLast(cellKey);
+        if (cell != null && cell.result != null && isValid(level, cell, range, tick)) {
+            RadiationMetrics.recordFieldCacheHit();
+            return cell.result;
+        }
+
+        RadiationMetrics.recordFieldCacheMiss();
+        BlockPos receiver = pos.immutable();
+        long stamp = getStamp(level, receiver, range);
+        RadiationBlockScanner.ScanResult result = RadiationBlockScanner.scan(level, receiver, range, shieldingEnabled);
+        field.put(cellKey, new Cell(receiver, stamp, tick, result, null));
+        return result;
+    }
+
+    /**
+     * Start an async scan of block radiation at a position, reusing the scan for its cell if it's still valid
+     * @param tick The current server tick
+     * @see RadiationAsyncScanner#submit
+     */
+    static ForkJoinTask<RadiationBlockScanner.ScanResult> scanAsync(Level level, BlockPos pos, int range, boolean shieldingEnabled, long tick) {
+        if (!CompiledRadiationConfig.get().shareRadiationField()) {
+            return RadiationAsyncScanner.submit(level, pos, range, shieldingEnabled);
+        }
+
+        LevelField field = getField(level, range, shieldingEnabled);
+        long cellKey = getCellKey(pos);
+
+        Cell cell = field.cells.getAndMoveToLast(cellKey);
+        if (cell != null && cell.task != null && !cell.task.isCompletedAbnormally() && isValid(level, cell, range, tick)) {
+            RadiationMetrics.recordFieldCacheHit();
+            return cell.task;
+        }
+
+        RadiationMetrics.recordFieldCacheMiss();
+        BlockPos receiver = pos.immutable();
+        long stamp = getStamp(level, receiver, range);
+        ForkJoinTask<RadiationBlockScanner.ScanResult> task = RadiationAsyncScanner.submit(level, receiver, range, shieldingEnabled);
+        field.put(cellKey, new Cell(receiver, stamp, tick, null, task));
+        return task;
+    }
+
+    /**
+     * Drop all cached data for a level
+     */
+    static void removeLevel(LevelAccessor level) {
+        LEVEL_FIELDS.remove(level);
+    }
+
+    private static boolean isValid(Level level, Cell cell, int range, long tick) {
+        return tick - cell.tick < MAX_AGE_TICKS && getStamp(level, cell.receiver, range) == cell.stamp;
+    }
+
+    /**
+     * Get the change stamp of the box scanned around a receiver
+     */
+    private static long getStamp(Level level, BlockPos receiver, int range) {
+        return RadiationChangeTracker.getStamp(level, receiver, range);
+    }
+
+    private static LevelField getField(Level level, int range, boolean shieldingEnabled) {
+        LevelField field = LEVEL_FIELDS.computeIfAbsent(level, k -> new LevelField());
+        CompiledRadiationConfig config = CompiledRadiationConfig.get();
+        RadiationBlockTable table = RadiationBlockTable.get();
+        if (field.config != config || field.table != table || field.range != range || field.shieldingEnabled != shieldingEnabled) {
+            // Results are only valid for the config, table and settings they were scanned with
+            field.cells.clear();
+            field.config = config;
+            field.table = table;
+            field.range = range;
+            field.shieldingEnabled = shieldingEnabled;
+        }
+        return field;
+    }
+
+    private static long getCellKey(BlockPos pos) {
+        return BlockPos.asLong(pos.getX() >> 1, pos.getY() >> 1, pos.getZ() >> 1);
+    }
+
+    /**
+     * Field data for a single level
+     */
+    private static class LevelField {
+        // In order of last use, least recent first
+        final Long2ObjectLinkedOpenHashMap<Cell> cells = new Long2ObjectLinkedOpenHashMap<>();
+        CompiledRadiationConfig config;  // Config the cells were scanned with
+        RadiationBlockTable table;       // Table the cells were scanned against
+        int range;
+        boolean shieldingEnabled;
+
+        void put(long cellKey, Cell cell) {
+            cells.putAndMoveToLast(cellKey, cell);
+            while (cells.size() > MAX_CELLS) {
+                cells.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * A cell's scan, either finished (sync) or running or finished on a worker (async)
+     */
+    private record Cell(BlockPos receiver, long stamp, long tick,
+                        RadiationBlockScanner.ScanResult result,
+                        ForkJoinTask<RadiationBlockScanner.ScanResult> task) {
+    }
+}
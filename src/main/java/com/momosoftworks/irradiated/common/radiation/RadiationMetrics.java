@@ -0,0 +1,62 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters describing how well the radiation system's caches are working
+ * and how much work they save.
+ *
+ * <p>Counters are updated on the server thread and may be read from any thread
+ * (e.g. by the debug server).</p>
+ */
+public class RadiationMetrics {
+
+    // Block radiation lookups answered by the shared field (see RadiationFieldCache)
+    private static final AtomicLong FIELD_CACHE_HITS = new AtomicLong();
+    // Block radiation lookups that had to scan
+    private static final AtomicLong FIELD_CACHE_MISSES = new AtomicLong();
+    // Radiation effect packets not sent because the effect level didn't change
+    private static final AtomicLong EFFECT_PACKETS_AVOIDED = new AtomicLong();
+
+    static void recordFieldCacheHit() {
+        FIELD_CACHE_HITS.incrementAndGet();
+    }
+
+    static void recordFieldCacheMiss() {
+        FIELD_CACHE_MISSES.incrementAndGet();
+    }
+
+    static void recordEffectPacketsAvoided(int packets) {
+        EFFECT_PACKETS_AVOIDED.addAndGet(packets);
+    }
+
+    public static long getFieldCacheHits() {
+        return FIELD_CACHE_HITS.get();
+    }
+
+    public static long getFieldCacheMisses() {
+        return FIELD_CACHE_MISSES.get();
+    }
+
+    public static long getEffectPacketsAvoided() {
+        return EFFECT_PACKETS_AVOIDED.get();
+    }
+
+    /**
+     * @return Fraction of block radiation lookups served from the shared field (0.0 to 1.0)
+     */
+    public static double getFieldCacheHitRate() {
+        long hits = FIELD_CACHE_HITS.get();
+        long total = hits + FIELD_CACHE_MISSES.get();
+        return total > 0 ? (double) hits / total : 0.0;
+    }
+
+    /**
+     * Reset all counters to zero
+     */
+    public static void reset() {
+        FIELD_CACHE_HITS.set(0);
+        FIELD_CACHE_MISSES.set(0);
+        EFFECT_PACKETS_AVOIDED.set(0);
+    }
+}
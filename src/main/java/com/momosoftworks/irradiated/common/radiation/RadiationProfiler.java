@@ -0,0 +1,238 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Nanosecond timers around each stage of the radiation system's tick, aggregated into rolling histograms.
+ *
+ * <p>Profiling is off until started with {@code /rad perf start}. While off, {@link #start()} is a single
+ * field read returning 0 and {@link #end} returns immediately on it, so the timers cost next to nothing.
+ * Timed code is wrapped like this:</p>
+ * <pre>{@code
+ * long start = RadiationProfiler.start();
+ * ...
+ * RadiationProfiler.end(RadiationProfiler.Stage.BIOME, start);
+ * }</pre>
+ *
+ * <p>Durations go into log-linear histograms (eight buckets per power of two, so within about 12%) kept
+ * for the last {@link #WINDOW_SECONDS} seconds in {@link #SLOT_TICKS}-tick slots. Recording may happen on
+ * worker threads, e.g. shielding during async block scans. The time of the top-level stages is also summed
+ * per server tick into {@link Stage#TOTAL}, which is Irradiated's share of each tick.</p>
+ */
+public class RadiationProfiler {
+
+    public enum Stage {
+        TOTAL("total", false),
+        PLAYER_TICK("player_tick", true),
+        BIOME("biome", false),
+        DIMENSION("dimension", false),
+        BLOCK_SCAN("block_scan", false),
+        SHIELDING("shielding", false),
+        ARMOR("armor", false),
+        DECAY("decay", false),
+        EFFECT_APPLY("effect_apply", false),
+        TEMPERATURE("temperature", true),
+        EFFECT_TICK("effect_tick", true);
+
+        private final String name;
+        private final boolean topLevel; // Not nested in another stage, counts towards the total
+
+        Stage(String name, boolean topLevel) {
+            this.name = name;
+            this.topLevel = topLevel;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static final int SLOT_TICKS = 100;
+    public static final int WINDOW_SECONDS = 30;
+    private static final int SLOTS = WINDOW_SECONDS * 20 / SLOT_TICKS;
+    private static final int BUCKETS = 320;
+
+    // Null while profiling is off
+    private static volatile Histograms histograms = null;
+
+    /**
+     * @return Start time to pass to {@link #end}, or 0 if profiling is off
+     */
+    public static long start() {
+        return histograms != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Record the time since {@link #start()} for a stage. Does nothing if profiling was off at the start.
+     */
+    public static void end(Stage stage, long start) {
+        if (start == 0L) {
+            return;
+        }
+        Histograms current = histograms;
+        if (current != null) {
+            current.record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return histograms != null;
+    }
+
+    /**
+     * Start profiling with empty histograms, or clear them if already started
+     */
+    public static void enable() {
+        histograms = new Histograms();
+    }
+
+    public static void disable() {
+        histograms = null;
+    }
+
+    /**
+     * Close the current tick's total and move on to the next slot of the window when this one is full
+     */
+    public static void onServerTick(ServerTickEvent.Post event) {
+        Histograms current = histograms;
+        if (current != null) {
+            current.endTick();
+        }
+    }
+
+    /**
+     * @return Statistics for every stage that was recorded in the window, or an empty list if profiling is off
+     */
+    public static List<StageStats> getStats() {
+        Histograms current = histograms;
+        return current != null ? current.getStats() : List.of();
+    }
+
+    /**
+     * @return Number of server ticks in the window so far
+     */
+    public static long getWindowTicks() {
+        Histograms current = histograms;
+        return current != null ? current.getWindowTicks() : 0L;
+    }
+
+    /**
+     * Summary of one stage's durations over the window
+     * @param calls Number of times the stage ran
+     * @param meanNanos Mean duration of one run
+     * @param p50Nanos Median duration, rounded up to its histogram bucket
+     * @param p99Nanos 99th percentile duration, rounded up to its histogram bucket
+     * @param maxNanos Longest duration, rounded up to its histogram bucket
+     * @param nanosPerTick Total time spent in the stage per server tick
+     */
+    public record StageStats(Stage stage, long calls, double meanNanos, long p50Nanos, long p99Nanos, long maxNanos,
+                             double nanosPerTick) {
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < 8) {
+            return (int) Math.max(nanos, 0L);
+        }
+        // Eight linear sub-buckets per power of two
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - 3)) & 7;
+        return Math.min(((exponent - 2) << 3) + subBucket, BUCKETS - 1);
+    }
+
+    static long bucketUpperBound(int bucket) {
+        if (bucket < 8) {
+            return bucket;
+        }
+        int exponent = (bucket >> 3) + 2;
+        return (9L + (bucket & 7)) << (exponent - 3);
+    }
+
+    private static class Histograms {
+        private static final int STAGES = Stage.values().length;
+
+        // [slot][stage][bucket] counts and [slot][stage] summed nanos, flattened
+        private final AtomicLongArray counts = new AtomicLongArray(SLOTS * STAGES * BUCKETS);
+        private final AtomicLongArray sums = new AtomicLongArray(SLOTS * STAGES);
+        private final long[] slotTicks = new long[SLOTS];
+        private final AtomicLong tickNanos = new AtomicLong();
+        private volatile int slot = 0;
+
+        void record(Stage stage, long nanos) {
+            int current = slot;
+            counts.incrementAndGet((current * STAGES + stage.ordinal()) * BUCKETS + bucket(nanos));
+            sums.addAndGet(current * STAGES + stage.ordinal(), nanos);
+            if (stage.topLevel) {
+                tickNanos.addAndGet(nanos);
+            }
+        }
+
+        // Server thread only
+        void endTick() {
+            record(Stage.TOTAL, tickNanos.getAndSet(0L));
+            slotTicks[slot]++;
+            if (slotTicks[slot] >= SLOT_TICKS) {
+                // Reuse the oldest slot
+                int next = (slot + 1) % SLOTS;
+                for (int i = next * STAGES * BUCKETS; i < (next + 1) * STAGES * BUCKETS; i++) {
+                    counts.set(i, 0L);
+                }
+                for (int i = next * STAGES; i < (next + 1) * STAGES; i++) {
+                    sums.set(i, 0L);
+                }
+                slotTicks[next] = 0;
+                slot = next;
+            }
+        }
+
+        long getWindowTicks() {
+            long ticks = 0;
+            for (long slotTick : slotTicks) {
+                ticks += slotTick;
+            }
+            return ticks;
+        }
+
+        List<StageStats> getStats() {
+            long ticks = getWindowTicks();
+            List<StageStats> stats = new ArrayList<>();
+            long[] merged = new long[BUCKETS];
+
+            for (Stage stage : Stage.values()) {
+                long calls = 0;
+                long sum = 0;
+                for (int s = 0; s < SLOTS; s++) {
+                    sum += sums.get(s * STAGES + stage.ordinal());
+                    for (int b = 0; b < BUCKETS; b++) {
+                        long count = counts.get((s * STAGES + stage.ordinal()) * BUCKETS + b);
+                        merged[b] = s == 0 ? count : merged[b] + count;
+                        calls += count;
+                    }
+                }
+                if (calls == 0) {
+                    continue;
+                }
+                stats.add(new StageStats(stage, calls, (double) sum / calls, percentile(merged, calls, 0.50),
+                        percentile(merged, calls, 0.99), percentile(merged, calls, 1.0),
+                        ticks > 0 ? (double) sum / ticks : 0.0));
+            }
+            return stats;
+        }
+
+        private static long percentile(long[] buckets, long total, double fraction) {
+            long rank = Math.max(1L, (long) Math.ceil(total * fraction));
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += buckets[b];
+                if (seen >= rank) {
+                    return bucketUpperBound(b);
+                }
+            }
+            return bucketUpperBound(BUCKETS - 1);
+        }
+    }
+}
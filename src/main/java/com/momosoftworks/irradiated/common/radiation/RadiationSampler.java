@@ -0,0 +1,125 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+
+/**
+ * Decides when a player's surroundings are sampled for radiation.
+ *
+ * <p>Radiation builds up over seconds, so the environment doesn't need to be scanned every
+ * tick. Each player is sampled every N ticks, where N adapts to what the player is doing:</p>
+ * <ul>
+ *   <li><b>Moving quickly:</b> {@link RadiationConfig#MIN_SAMPLE_INTERVAL}</li>
+ *   <li><b>Standing still:</b> the interval doubles after every sample, up to {@link RadiationConfig#MAX_SAMPLE_INTERVAL}</li>
+ *   <li><b>Walking:</b> halfway between the two</li>
+ * </ul>
+ *
+ * <p>Sample ticks are aligned to a per-player phase, so players with the same interval are
+ * spread evenly across ticks instead of all scanning on the same one. A sample is taken
+ * immediately when the player changes dimension or teleports, and early when a block changes
+ * within range (see {@link RadiationChangeTracker}). Block changes only bring a sample forward
+ * once {@link RadiationConfig#MIN_SAMPLE_INTERVAL} has passed since the last one, so players next
+ * to farms, flowing water or redstone don't sample every tick.</p>
+ *
+ * <p>Between samples, the intensity is linearly interpolated from its value at the last
+ * sample towards the new sample, reaching it at the next scheduled sample.</p>
+ */
+public class RadiationSampler {
+
+    // Movement per tick above which a player counts as moving quickly (about sprinting speed)
+    private static final double FAST_SPEED = 0.2;
+    // Movement per tick below which a player counts as standing still
+    private static final double IDLE_SPEED = 0.01;
+    // Distance moved since the last sample that forces a new one (teleports, fast travel)
+    private static final double RESAMPLE_DISTANCE = 4.0;
+
+    /**
+     * Check whether the player's surroundings should be sampled this tick
+     */
+    static boolean shouldSample(Player player, State state, CompiledRadiationConfig config, long tick, int range) {
+        if (!state.hasSample || state.level != player.level() || tick >= state.nextSampleTick) {
+            return true;
+        }
+        if (player.distanceToSqr(state.x, state.y, state.z) > RESAMPLE_DISTANCE * RESAMPLE_DISTANCE) {
+            return true;
+        }
+        // Something changed nearby since the last sample
+        return tick - state.sampleTick >= config.minSampleInterval() && getAreaStamp(player, range) != state.areaStamp;
+    }
+
+    /**
+     * Store a new sample and schedule the next one
+     * @param intensity Total per-tick intensity of the player's surroundings
+     * @param maxExposure Highest max exposure of any source in the surroundings
+     */
+    static void recordSample(Player player, State state, CompiledRadiationConfig config, long tick, int range, float intensity, float maxExposure) {
+        int minInterval = config.minSampleInterval();
+        int maxInterval = config.maxSampleInterval();
+        long areaStamp = getAreaStamp(player, range);
+
+        int interval;
+        if (!state.hasSample || state.level != player.level()) {
+            // First sample here; nothing to interpolate from
+            interval = minInterval;
+            state.previousIntensity = intensity;
+        } else {
+            long elapsed = Math.max(1, tick - state.sampleTick);
+            double speed = Math.sqrt(player.distanceToSqr(state.x, state.y, state.z)) / elapsed;
+
+            if (speed >= FAST_SPEED || areaStamp != state.areaStamp) {
+                interval = minInterval;
+            } else if (speed < IDLE_SPEED) {
+                interval = Mth.clamp(state.interval * 2, minInterval, maxInterval);
+            } else {
+                interval = (minInterval + maxInterval) / 2;
+            }
+            // Continue from wherever the interpolation currently is
+            state.previousIntensity = getIntensity(state, tick);
+        }
+
+        state.currentIntensity = intensity;
+        state.maxExposure = maxExposure;
+        state.interval = interval;
+        state.sampleTick = tick;
+        state.nextSampleTick = tick + interval - Math.floorMod(tick + player.getId(), interval);
+        state.areaStamp = areaStamp;
+        state.level = player.level();
+        state.x = player.getX();
+        state.y = player.getY();
+        state.z = player.getZ();
+        state.hasSample = true;
+    }
+
+    /**
+     * Get the interpolated intensity for the given tick
+     */
+    static float getIntensity(State state, long tick) {
+        long span = state.nextSampleTick - state.sampleTick;
+        if (span <= 0) {
+            return state.currentIntensity;
+        }
+        float progress = Mth.clamp((float) (tick - state.sampleTick) / span, 0.0f, 1.0f);
+        return Mth.lerp(progress, state.previousIntensity, state.currentIntensity);
+    }
+
+    private static long getAreaStamp(Player player, int range) {
+        return RadiationChangeTracker.getStamp(player.level(), player.blockPosition(), range);
+    }
+
+    /**
+     * Sampling state of a single player
+     */
+    static class State {
+        float previousIntensity = 0.0f;  // Intensity at the time of the last sample
+        float currentIntensity = 0.0f;   // Intensity measured by the last sample
+        float maxExposure = 0.0f;        // Max exposure measured by the last sample
+        int interval = 0;                // Interval chosen at the last sample
+        long sampleTick = 0;             // Server tick of the last sample
+        long nextSampleTick = 0;         // Server tick of the next scheduled sample
+        long areaStamp = 0;              // Change stamp of the chunks in range at the last sample
+        Level level = null;              // Level of the last sample
+        double x, y, z;                  // Player position at the last sample
+        boolean hasSample = false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import java.util.function.Predicate;
+
+/**
+ * Fast-path checks that rule out whole chunk sections before scanning them block by block.
+ *
+ * <p>A section's block states are stored in a palette. If none of the palette entries
+ * match, none of the 4096 blocks in the section can match either, so the section can be
+ * skipped without a single {@code getBlockState} call. Sections with too many distinct
+ * states use the global palette, which can't be checked this way and always has to be
+ * scanned.</p>
+ */
+public class RadiationSectionFilter {
+
+    /**
+     * Matches block states listed in the radioactive blocks config
+     */
+    public static final Predicate<BlockState> RADIOACTIVE =
+            state -> RadiationBlockTable.get().isRadioactive(state);
+
+    /**
+     * Check whether a section may contain a radioactive block
+     * @return False only if the section definitely contains no radioactive blocks
+     */
+    public static boolean mayContainRadioactive(LevelChunkSection section) {
+        return mayContain(section, RADIOACTIVE);
+    }
+
+    /**
+     * Check whether a section may contain a block matching the given predicate
+     * @return False only if the section definitely contains no matching blocks
+     */
+    public static boolean mayContain(LevelChunkSection section, Predicate<BlockState> predicate) {
+        return !section.hasOnlyAir() && section.maybeHas(predicate);
+    }
+
+    /**
+     * Check whether the section at the given section coordinates may contain a block matching the predicate.
+     * Sections in chunks that are not loaded are reported as possibly matching, since they can't be checked.
+     * @return False only if the section definitely contains no matching blocks
+     */
+    public static boolean mayContain(Level level, int sectionX, int sectionY, int sectionZ, Predicate<BlockState> predicate) {
+        LevelChunk chunk = level.getChunkSource().getChunkNow(sectionX, sectionZ);
+        if (chunk == null) {
+            return true;
+        }
+
+        int sectionIndex = chunk.getSectionIndexFromSectionY(sectionY);
+        if (sectionIndex < 0 || sectionIndex >= chunk.getSectionsCount()) {
+            // Outside the world's height, only air
+            return false;
+        }
+
+        return mayContain(chunk.getSection(sectionIndex), predicate);
+    }
+}
@@ -0,0 +1,126 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Cache of shielding factors between radiation sources and receiving block positions.
+ *
+ * <p>A player standing near a source would otherwise trace the same ray every tick.
+ * Results are kept per level in an LRU map bounded by {@link RadiationConfig#SHIELDING_CACHE_SIZE}.</p>
+ *
+ * <p><b>Invalidation:</b> An entry remembers the {@link RadiationChangeTracker} stamp of the
+ * box spanned by its source and receiver, which contains every chunk section the ray can cross. A
+ * different stamp means a block changed somewhere along the way and the ray is traced again.
+ * The whole cache is dropped when the block table is recompiled.</p>
+ *
+ * <p><b>Thread Safety:</b> Server thread only.</p>
+ */
+public class RadiationShieldingCache {
+
+    // Cache data for every server level that has been queried
+    private static final Map<LevelAccessor, LevelCache> LEVEL_CACHES = new WeakHashMap<>();
+
+    /**
+     * Get the shielding factor between a source and a receiver, tracing the ray only if
+     * no valid cached result exists
+     * @return Shielding reduction factor (0.0 to 1.0)
+     * @see RadiationShielding#getShieldingFactor
+     */
+    static float getShieldingFactor(Level level, BlockPos sourcePos, BlockPos receiverPos) {
+        int maxSize = CompiledRadiationConfig.get().shieldingCacheSize();
+        if (maxSize <= 0) {
+            return RadiationShielding.getShieldingFactor(level, sourcePos, receiverPos);
+        }
+
+        LevelCache cache = getCache(level);
+        cache.maxSize = maxSize;
+
+        long stamp = RadiationChangeTracker.getStamp(level, sourcePos, receiverPos);
+        Entry entry = cache.entries.get(cache.lookupKey.set(sourcePos.asLong(), receiverPos.asLong()));
+        if (entry != null && entry.stamp == stamp) {
+            return entry.factor;
+        }
+
+        float factor = RadiationShielding.getShieldingFactor(level, sourcePos, receiverPos);
+        if (entry != null) {
+            entry.factor = factor;
+            entry.stamp = stamp;
+        } else {
+            cache.entries.put(new Key().set(sourcePos.asLong(), receiverPos.asLong()), new Entry(factor, stamp));
+        }
+        return factor;
+    }
+
+    /**
+     * Drop all cached data for a level
+     */
+    static void removeLevel(LevelAccessor level) {
+        LEVEL_CACHES.remove(level);
+    }
+
+    private static LevelCache getCache(LevelAccessor level) {
+        LevelCache cache = LEVEL_CACHES.computeIfAbsent(level, k -> new LevelCache());
+        // Shielding values may have changed with the config
+        RadiationBlockTable table = RadiationBlockTable.get();
+        if (cache.table != table) {
+            cache.entries.clear();
+            cache.table = table;
+        }
+        return cache;
+    }
+
+    /**
+     * Cache data for a single level
+     */
+    private static class LevelCache {
+        final Key lookupKey = new Key();  // Reused for lookups; never stored in the map
+        final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        RadiationBlockTable table;  // Table the cached results were traced against
+        int maxSize;
+    }
+
+    /**
+     * Source and receiver positions, packed with {@link BlockPos#asLong}
+     */
+    private static class Key {
+        long source;
+        long receiver;
+
+        Key set(long source, long receiver) {
+            this.source = source;
+            this.receiver = receiver;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other && other.source == source && other.receiver == receiver;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(source) * 31 + Long.hashCode(receiver);
+        }
+    }
+
+    private static class Entry {
+        float factor;
+        long stamp;
+
+        Entry(float factor, long stamp) {
+            this.factor = factor;
+            this.stamp = stamp;
+        }
+    }
+}
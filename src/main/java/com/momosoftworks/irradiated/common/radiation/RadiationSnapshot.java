@@ -0,0 +1,157 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.material.FluidState;
+
+/**
+ * Private copy of the chunk sections around a position, for scanning block radiation off the server thread.
+ *
+ * <p>Captured on the server thread with {@link #capture}, which copies each section's block
+ * palette and the radioactive positions recorded in {@link RadiationSourceIndex}. Nothing in
+ * the snapshot is shared with the live world afterward, so it can be read from any thread.
+ * Sections in unloaded chunks, or outside of the level's height, read as air.</p>
+ *
+ * <p>Shielding is traced directly against the snapshot; the shielding cache is not used,
+ * since it belongs to the server thread.</p>
+ */
+public class RadiationSnapshot implements BlockGetter, RadiationBlockScanner.View {
+
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+
+    private final int minSectionX, minSectionY, minSectionZ;
+    private final int sizeX, sizeY, sizeZ;
+    private final PalettedContainer<BlockState>[] sections;  // Null for air-only sections
+    private final ShortOpenHashSet[] sources;                // Null for sections without sources
+    private final int minBuildHeight;
+    private final int height;
+
+    @SuppressWarnings("unchecked")
+    private RadiationSnapshot(Level level, int minSectionX, int minSectionY, int minSectionZ,
+                              int maxSectionX, int maxSectionY, int maxSectionZ) {
+        this.minSectionX = minSectionX;
+        this.minSectionY = minSectionY;
+        this.minSectionZ = minSectionZ;
+        this.sizeX = maxSectionX - minSectionX + 1;
+        this.sizeY = maxSectionY - minSectionY + 1;
+        this.sizeZ = maxSectionZ - minSectionZ + 1;
+        this.sections = new PalettedContainer[sizeX * sizeY * sizeZ];
+        this.sources = new ShortOpenHashSet[sizeX * sizeY * sizeZ];
+        this.minBuildHeight = level.getMinBuildHeight();
+        this.height = level.getHeight();
+    }
+
+    /**
+     * Copy the sections covering a cube around a position.
+     * Must be called on the server thread.
+     * @param level The level to copy from
+     * @param center Center of the cube
+     * @param range Half-size of the cube in blocks
+     */
+    public static RadiationSnapshot capture(Level level, BlockPos center, int range) {
+        int minSectionX = SectionPos.blockToSectionCoord(center.getX() - range);
+        int minSectionY = SectionPos.blockToSectionCoord(center.getY() - range);
+        int minSectionZ = SectionPos.blockToSectionCoord(center.getZ() - range);
+        int maxSectionX = SectionPos.blockToSectionCoord(center.getX() + range);
+        int maxSectionY = SectionPos.blockToSectionCoord(center.getY() + range);
+        int maxSectionZ = SectionPos.blockToSectionCoord(center.getZ() + range);
+        RadiationSnapshot snapshot = new RadiationSnapshot(level, minSectionX, minSectionY, minSectionZ,
+                maxSectionX, maxSectionY, maxSectionZ);
+
+        for (int sectionX = minSectionX; sectionX <= maxSectionX; sectionX++) {
+            for (int sectionZ = minSectionZ; sectionZ <= maxSectionZ; sectionZ++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(sectionX, sectionZ);
+                if (chunk == null) {
+                    continue;
+                }
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                    int sectionIndex = chunk.getSectionIndexFromSectionY(sectionY);
+                    if (sectionIndex < 0 || sectionIndex >= chunk.getSectionsCount()) {
+                        continue;
+                    }
+                    LevelChunkSection section = chunk.getSection(sectionIndex);
+                    if (section.hasOnlyAir()) {
+                        continue;
+                    }
+
+                    int index = snapshot.index(sectionX, sectionY, sectionZ);
+                    snapshot.sections[index] = section.getStates().copy();
+
+                    ShortSet sectionSources = RadiationSourceIndex.getSectionSources(level, sectionX, sectionY, sectionZ);
+                    if (sectionSources != null) {
+                        snapshot.sources[index] = new ShortOpenHashSet(sectionSources);
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public ShortSet getSectionSources(int sectionX, int sectionY, int sectionZ) {
+        int index = index(sectionX, sectionY, sectionZ);
+        return index >= 0 ? sources[index] : null;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        int index = index(SectionPos.blockToSectionCoord(pos.getX()),
+                SectionPos.blockToSectionCoord(pos.getY()),
+                SectionPos.blockToSectionCoord(pos.getZ()));
+        if (index < 0) {
+            return AIR;
+        }
+        PalettedContainer<BlockState> states = sections[index];
+        return states != null
+                ? states.get(SectionPos.sectionRelative(pos.getX()), SectionPos.sectionRelative(pos.getY()), SectionPos.sectionRelative(pos.getZ()))
+                : AIR;
+    }
+
+    @Override
+    public float getShielding(BlockPos sourcePos, BlockPos receiverPos) {
+        return RadiationShielding.getShieldingFactor(this, sourcePos, receiverPos);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return minBuildHeight;
+    }
+
+    /**
+     * @return Index of a section in the snapshot's arrays, or -1 if it is outside the snapshot
+     */
+    private int index(int sectionX, int sectionY, int sectionZ) {
+        int x = sectionX - minSectionX;
+        int y = sectionY - minSectionY;
+        int z = sectionZ - minSectionZ;
+        if (x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ) {
+            return -1;
+        }
+        return (x * sizeZ + z) * sizeY + y;
+    }
+}
@@ -0,0 +1,197 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-chunk-section index of radioactive block positions.
+ *
+ * <p>Each indexed section stores the section-relative positions of blocks listed in
+ * {@link RadiationConfig#RADIOACTIVE_BLOCKS}, so block radiation only has to visit the
+ * sources themselves instead of every block in range. Chunks are indexed lazily the
+ * first time a query touches them after loading, and kept up to date from block
+ * updates (see {@link RadiationWorldEvents}). When the config's block table is
+ * recompiled, the whole index is dropped and rebuilt against the new table.</p>
+ *
+ * <p>Block changes that skip neighbor updates (structure templates, or mods calling
+ * {@code setBlock} without flag 1) aren't seen. Removals leave stale entries behind,
+ * which the scanner drops when it re-checks each source's block state. Additions are
+ * missed, so a chunk is indexed again once it's {@link #MAX_INDEX_AGE_TICKS} old, and
+ * such sources are picked up within that time.</p>
+ *
+ * <p><b>Thread Safety:</b> Server thread only.</p>
+ */
+public class RadiationSourceIndex {
+
+    // Game ticks after which a chunk is indexed again, to pick up sources placed without a neighbor update (5 minutes)
+    static final int MAX_INDEX_AGE_TICKS = 6000;
+
+    // Index data for every server level that has been queried
+    private static final Map<LevelAccessor, LevelIndex> LEVEL_INDEXES = new WeakHashMap<>();
+
+    /**
+     * Get the radioactive block positions in a chunk section, indexing its chunk if needed.
+     * Positions are packed like {@link SectionPos#sectionRelativePos(BlockPos)}.
+     * The returned set is live; callers may only remove stale entries through its iterator.
+     * @return The section's sources, or null if it has none or its chunk is not loaded
+     */
+    static ShortSet getSectionSources(Level level, int sectionX, int sectionY, int sectionZ) {
+        LevelIndex index = getIndex(level, true);
+
+        long indexedAt = index.indexedChunks.get(ChunkPos.asLong(sectionX, sectionZ));
+        if (indexedAt < 0 || level.getGameTime() - indexedAt >= MAX_INDEX_AGE_TICKS) {
+            LevelChunk chunk = level.getChunkSource().getChunkNow(sectionX, sectionZ);
+            if (chunk == null) {
+                return null;
+            }
+            index.indexChunk(chunk, level.getGameTime());
+        }
+
+        return index.sections.get(SectionPos.asLong(sectionX, sectionY, sectionZ));
+    }
+
+    /**
+     * Update the index after the block at a position changed
+     */
+    static void onBlockChanged(LevelAccessor level, BlockPos pos, BlockState newState) {
+        LevelIndex index = getIndex(level, false);
+        if (index == null || !index.indexedChunks.containsKey(ChunkPos.asLong(pos))) {
+            // Not indexed yet, it will be scanned on first use
+            return;
+        }
+
+        long sectionKey = SectionPos.asLong(pos);
+        short localPos = SectionPos.sectionRelativePos(pos);
+        ShortOpenHashSet sources = index.sections.get(sectionKey);
+
+        if (RadiationSectionFilter.RADIOACTIVE.test(newState)) {
+            if (sources == null) {
+                sources = new ShortOpenHashSet();
+                index.sections.put(sectionKey, sources);
+            }
+            sources.add(localPos);
+        } else if (sources != null) {
+            sources.remove(localPos);
+            if (sources.isEmpty()) {
+                index.sections.remove(sectionKey);
+            }
+        }
+    }
+
+    /**
+     * Forget a chunk so it is rescanned the next time it is needed
+     */
+    static void invalidateChunk(LevelAccessor level, ChunkAccess chunk) {
+        LevelIndex index = LEVEL_INDEXES.get(level);
+        if (index != null) {
+            index.removeChunk(chunk);
+        }
+    }
+
+    /**
+     * Drop all index data for a level
+     */
+    static void removeLevel(LevelAccessor level) {
+        LEVEL_INDEXES.remove(level);
+    }
+
+    private static LevelIndex getIndex(LevelAccessor level, boolean create) {
+        LevelIndex index = create ? LEVEL_INDEXES.computeIfAbsent(level, k -> new LevelIndex()) : LEVEL_INDEXES.get(level);
+        if (index != null) {
+            // Everything indexed against an older config is stale
+            RadiationBlockTable table = RadiationBlockTable.get();
+            if (index.table != table) {
+                index.reset(table);
+            }
+        }
+        return index;
+    }
+
+    private static short packLocalPos(int x, int y, int z) {
+        // Same layout as SectionPos.sectionRelativePos
+        return (short) (x << 8 | z << 4 | y);
+    }
+
+    /**
+     * Index data for a single level
+     */
+    private static class LevelIndex {
+        final Long2ObjectOpenHashMap<ShortOpenHashSet> sections = new Long2ObjectOpenHashMap<>();
+        // Game time each indexed chunk was indexed at
+        final Long2LongOpenHashMap indexedChunks = new Long2LongOpenHashMap();
+        RadiationBlockTable table;  // Table the index was built against
+
+        LevelIndex() {
+            indexedChunks.defaultReturnValue(-1);
+        }
+
+        void reset(RadiationBlockTable table) {
+            this.sections.clear();
+            this.indexedChunks.clear();
+            this.table = table;
+        }
+
+        void indexChunk(LevelChunk chunk, long gameTime) {
+            ChunkPos chunkPos = chunk.getPos();
+            LevelChunkSection[] chunkSections = chunk.getSections();
+
+            for (int i = 0; i < chunkSections.length; i++) {
+                long sectionKey = SectionPos.asLong(chunkPos.x, chunk.getSectionYFromSectionIndex(i), chunkPos.z);
+                ShortOpenHashSet sources = scanSection(chunkSections[i]);
+                if (sources != null) {
+                    sections.put(sectionKey, sources);
+                } else {
+                    sections.remove(sectionKey);
+                }
+            }
+
+            indexedChunks.put(chunkPos.toLong(), gameTime);
+        }
+
+        void removeChunk(ChunkAccess chunk) {
+            ChunkPos chunkPos = chunk.getPos();
+            if (indexedChunks.remove(chunkPos.toLong()) < 0) {
+                return;
+            }
+            for (int sectionY = chunk.getMinSection(); sectionY < chunk.getMaxSection(); sectionY++) {
+                sections.remove(SectionPos.asLong(chunkPos.x, sectionY, chunkPos.z));
+            }
+        }
+
+        private static ShortOpenHashSet scanSection(LevelChunkSection section) {
+            // Most sections can be ruled out from their palette alone
+            if (!RadiationSectionFilter.mayContainRadioactive(section)) {
+                return null;
+            }
+
+            ShortOpenHashSet sources = null;
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (RadiationSectionFilter.RADIOACTIVE.test(section.getBlockState(x, y, z))) {
+                            if (sources == null) {
+                                sources = new ShortOpenHashSet();
+                            }
+                            sources.add(packLocalPos(x, y, z));
+                        }
+                    }
+                }
+            }
+            return sources;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.momosoftworks.irradiated.common.radiation;
+
+import net.minecraft.world.level.LevelAccessor;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+
+/**
+ * World events that keep the radiation system's cached world data in sync.
+ * Chunk loads, unloads and block changes are forwarded to {@link RadiationSourceIndex}
+ * and {@link RadiationChangeTracker}.
+ * Only server levels are tracked.
+ */
+public class RadiationWorldEvents {
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getLevel().isClientSide()) {
+            return;
+        }
+        // Drop anything left over from a previous load; the chunk is rescanned on first use
+        RadiationSourceIndex.invalidateChunk(event.getLevel(), event.getChunk());
+        RadiationChangeTracker.onChunkChanged(event.getLevel(), event.getChunk().getPos());
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel().isClientSide()) {
+            return;
+        }
+        RadiationSourceIndex.invalidateChunk(event.getLevel(), event.getChunk());
+        RadiationChangeTracker.onChunkUnloaded(event.getLevel(), event.getChunk().getPos());
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        RadiationSourceIndex.removeLevel(event.getLevel());
+        RadiationShieldingCache.removeLevel(event.getLevel());
+        RadiationFieldCache.removeLevel(event.getLevel());
+        RadiationChangeTracker.removeLevel(event.getLevel());
+    }
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        // Fired after every block change that updates neighbors (placing, breaking, pistons, explosions...)
+        LevelAccessor level = event.getLevel();
+        if (level.isClientSide()) {
+            return;
+        }
+        RadiationSourceIndex.onBlockChanged(level, event.getPos(), event.getState());
+        RadiationChangeTracker.onBlockChanged(level, event.getPos());
+    }
+
+    @SubscribeEvent
+    public static void onBlockPlaced(BlockEvent.EntityPlaceEvent event) {
+        LevelAccessor level = event.getLevel();
+        if (level.isClientSide()) {
+            return;
+        }
+        RadiationSourceIndex.onBlockChanged(level, event.getPos(), event.getPlacedBlock());
+        RadiationChangeTracker.onBlockChanged(level, event.getPos());
+    }
+}
@@ -1,6 +1,7 @@
 package com.momosoftworks.irradiated.common.temp;
 
 import com.momosoftworks.coldsweat.api.util.Temperature;
+import com.momosoftworks.irradiated.common.radiation.RadiationProfiler;
 import com.momosoftworks.irradiated.core.init.ModEffects;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.entity.player.Player;
@@ -15,6 +16,12 @@ public class RadiationTempHandler {
 		Player player = event.getEntity();
 		if (player.level().isClientSide) return;
 
+		long start = RadiationProfiler.start();
+		addRadiationHeat(player);
+		RadiationProfiler.end(RadiationProfiler.Stage.TEMPERATURE, start);
+	}
+
+	private static void addRadiationHeat(Player player) {
 		MobEffectInstance rad = player.getEffect(ModEffects.radiationHolder());
 		MobEffectInstance res = player.getEffect(ModEffects.radResistanceHolder());
 		
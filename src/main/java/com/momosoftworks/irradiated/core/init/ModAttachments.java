@@ -0,0 +1,15 @@
+package com.momosoftworks.irradiated.core.init;
+
+import com.momosoftworks.irradiated.common.radiation.DynamicRadiationData;
+import net.neoforged.neoforge.attachment.AttachmentType;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.DeferredRegister;
+import net.neoforged.neoforge.registries.NeoForgeRegistries;
+
+public class ModAttachments {
+	public static final DeferredRegister<AttachmentType<?>> REGISTER = DeferredRegister.create(NeoForgeRegistries.Keys.ATTACHMENT_TYPES, "irradiated");
+
+	// Saved with the player and carried over when returning from the End, but reset on death
+	public static final DeferredHolder<AttachmentType<?>, AttachmentType<DynamicRadiationData>> RADIATION_DATA = REGISTER.register("dynamic_radiation",
+			() -> AttachmentType.builder(() -> new DynamicRadiationData()).serialize(DynamicRadiationData.CODEC).build());
+}
@@ -211,7 +211,7 @@ export function Dashboard() {
                          transition={{ delay: 0.2, duration: 0.5 }}
                          className="xl:col-span-1 space-y-6"
                     >
-                        <Overview players={allPlayers} />
+                        <Overview players={allPlayers} metrics={data?.metrics} />
                         <QuickActions players={filteredPlayers} sendCommand={sendCommand} />
                         <ConfigPanel config={data?.config} />
                     </motion.div>
@@ -1,11 +1,12 @@
 
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card";
-import { Users, Activity, AlertTriangle, Flame, TrendingUp } from "lucide-react";
-import { PlayerData } from "@/hooks/useRadiationData";
+import { Users, Activity, AlertTriangle, Flame, TrendingUp, Layers } from "lucide-react";
+import { PlayerData, RadiationMetrics } from "@/hooks/useRadiationData";
 import { motion } from "framer-motion";
 
 interface OverviewProps {
     players: PlayerData[];
+    metrics?: RadiationMetrics;
 }
 
 interface StatCardProps {
@@ -58,7 +59,7 @@ function StatCard({ icon, label, value, color, delay = 0 }: StatCardProps) {
     );
 }
 
-export function Overview({ players }: OverviewProps) {
+export function Overview({ players, metrics }: OverviewProps) {
     const avgRad = players.length > 0 
         ? Math.round(players.reduce((acc, p) => acc + p.radiationLevel, 0) / players.length)
         : 0;
@@ -116,6 +117,15 @@ export function Overview({ players }: OverviewProps) {
                     color="orange"
                     delay={0.15}
                 />
+                {metrics && (
+                    <StatCard
+                        icon={<Layers className="h-5 w-5" />}
+                        label="Field Cache Hits"
+                        value={`${Math.round(metrics.fieldCacheHitRate * 100)}%`}
+                        color="purple"
+                        delay={0.2}
+                    />
+                )}
             </CardContent>
         </Card>
     );
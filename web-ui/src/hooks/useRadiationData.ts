@@ -1,4 +1,5 @@
 import { useEffect, useState, useRef } from 'react';
+import { decodeMessagePack } from '@/lib/msgpack';
 
 export interface Position {
     x: number;
@@ -26,18 +27,76 @@ export interface ServerConfig {
     blockRadiationRange: number;
     shieldingEnabled: boolean;
     defaultShielding: number;
+    shareRadiationField?: boolean;
+}
+
+export interface RadiationMetrics {
+    fieldCacheHits: number;
+    fieldCacheMisses: number;
+    fieldCacheHitRate: number;
+    effectPacketsAvoided?: number;
 }
 
 export interface RadiationData {
     timestamp: number;
     players: PlayerData[];
     config: ServerConfig;
+    metrics?: RadiationMetrics;
+}
+
+// Protocol version 2: a full snapshot, then deltas on top of it. See DebugStreamEncoder on the server.
+interface FullMessage extends RadiationData {
+    type: 'full';
+    version: number;
+    seq: number;
+}
+
+interface DeltaMessage {
+    type: 'delta';
+    version: number;
+    seq: number;
+    baseSeq: number;
+    timestamp: number;
+    players: (Partial<PlayerData> & { uuid: string })[];
+    removed: string[];
+    config?: ServerConfig;
+    metrics?: RadiationMetrics;
+}
+
+/**
+ * Apply a delta to the current state, or return null if it has a player the state doesn't know about
+ */
+function applyDelta(current: RadiationData, delta: DeltaMessage): RadiationData | null {
+    const players = new Map(current.players.map(player => [player.uuid, player]));
+    for (const changed of delta.players) {
+        const player = players.get(changed.uuid);
+        if (player) {
+            players.set(changed.uuid, { ...player, ...changed });
+        } else if (changed.name !== undefined) {
+            // Just joined, has every field
+            players.set(changed.uuid, changed as PlayerData);
+        } else {
+            return null;
+        }
+    }
+    for (const uuid of delta.removed) {
+        players.delete(uuid);
+    }
+    return {
+        timestamp: delta.timestamp,
+        players: Array.from(players.values()),
+        config: delta.config ?? current.config,
+        metrics: delta.metrics ?? current.metrics,
+    };
 }
 
 export function useRadiationData() {
     const [data, setData] = useState<RadiationData | null>(null);
     const [status, setStatus] = useState<'connected' | 'disconnected' | 'connecting'>('disconnected');
     const ws = useRef<WebSocket | null>(null);
+    // Last state applied and its sequence number, null until a full snapshot arrives
+    const current = useRef<RadiationData | null>(null);
+    const lastSeq = useRef<number | null>(null);
 
     useEffect(() => {
         let reconnectTimeout: NodeJS.Timeout;
@@ -72,17 +131,57 @@ export function useRadiationData() {
                  wsUrl = `ws://${host}:${currentPort + 1}`;
             }
 
+            // Opt in to binary updates with ?binary in the dashboard's URL. They're smaller and cheaper for the
+            // server to write, but can't be read in the browser's network tab.
+            const binary = new URLSearchParams(window.location.search).has('binary');
+
             setStatus('connecting');
-            const socket = new WebSocket(wsUrl);
+            const socket = binary
+                ? new WebSocket(wsUrl, ['irradiated.msgpack', 'irradiated.json'])
+                : new WebSocket(wsUrl);
+            socket.binaryType = 'arraybuffer';
 
             socket.onopen = () => {
+                // The server sends a full snapshot first
+                current.current = null;
+                lastSeq.current = null;
                 setStatus('connected');
             };
 
+            const resync = () => {
+                // Ignore deltas until the full snapshot arrives
+                if (lastSeq.current !== null && socket.readyState === WebSocket.OPEN) {
+                    socket.send(JSON.stringify({ action: 'resync' }));
+                }
+                lastSeq.current = null;
+            };
+
             socket.onmessage = (event) => {
                 try {
-                    const parsed = JSON.parse(event.data);
-                    setData(parsed);
+                    const parsed = event.data instanceof ArrayBuffer
+                        ? decodeMessagePack(event.data) as any
+                        : JSON.parse(event.data);
+                    if (parsed.type === 'delta') {
+                        const delta = parsed as DeltaMessage;
+                        if (current.current === null || lastSeq.current === null) {
+                            return;
+                        }
+                        const next = delta.baseSeq === lastSeq.current ? applyDelta(current.current, delta) : null;
+                        if (next === null) {
+                            // Missed an update
+                            resync();
+                            return;
+                        }
+                        current.current = next;
+                        lastSeq.current = delta.seq;
+                        setData(next);
+                    } else {
+                        // A full snapshot, or a message from a server without deltas
+                        const full = parsed as FullMessage;
+                        current.current = full;
+                        lastSeq.current = full.seq ?? null;
+                        setData(full);
+                    }
                 } catch (e) {
                     console.error("Failed to parse WS data", e);
                 }
@@ -0,0 +1,67 @@
+/**
+ * Decodes the MessagePack the debug server sends to binary clients into the same objects JSON.parse would give.
+ * Only covers the types the server writes: nil, booleans, integers, floats, strings, arrays and maps.
+ */
+export function decodeMessagePack(buffer: ArrayBuffer): unknown {
+    const view = new DataView(buffer);
+    const utf8 = new TextDecoder();
+    let pos = 0;
+
+    const string = (length: number) => {
+        const value = utf8.decode(new Uint8Array(buffer, pos, length));
+        pos += length;
+        return value;
+    };
+    const array = (length: number) => {
+        const value: unknown[] = [];
+        for (let i = 0; i < length; i++) {
+            value.push(read());
+        }
+        return value;
+    };
+    const map = (length: number) => {
+        const value: Record<string, unknown> = {};
+        for (let i = 0; i < length; i++) {
+            const key = read() as string;
+            value[key] = read();
+        }
+        return value;
+    };
+
+    const read = (): unknown => {
+        const type = view.getUint8(pos++);
+        if (type < 0x80) return type;
+        if (type < 0x90) return map(type & 0x0f);
+        if (type < 0xa0) return array(type & 0x0f);
+        if (type < 0xc0) return string(type & 0x1f);
+        if (type >= 0xe0) return type - 0x100;
+
+        let value: unknown;
+        switch (type) {
+            case 0xc0: return null;
+            case 0xc2: return false;
+            case 0xc3: return true;
+            // Floats only carry the few decimals the server rounded to, so drop the float's noise
+            case 0xca: value = parseFloat(view.getFloat32(pos).toPrecision(7)); pos += 4; return value;
+            case 0xcb: value = view.getFloat64(pos); pos += 8; return value;
+            case 0xcc: value = view.getUint8(pos); pos += 1; return value;
+            case 0xcd: value = view.getUint16(pos); pos += 2; return value;
+            case 0xce: value = view.getUint32(pos); pos += 4; return value;
+            case 0xcf: value = Number(view.getBigUint64(pos)); pos += 8; return value;
+            case 0xd0: value = view.getInt8(pos); pos += 1; return value;
+            case 0xd1: value = view.getInt16(pos); pos += 2; return value;
+            case 0xd2: value = view.getInt32(pos); pos += 4; return value;
+            case 0xd3: value = Number(view.getBigInt64(pos)); pos += 8; return value;
+            case 0xd9: pos += 1; return string(view.getUint8(pos - 1));
+            case 0xda: pos += 2; return string(view.getUint16(pos - 2));
+            case 0xdb: pos += 4; return string(view.getUint32(pos - 4));
+            case 0xdc: pos += 2; return array(view.getUint16(pos - 2));
+            case 0xdd: pos += 4; return array(view.getUint32(pos - 4));
+            case 0xde: pos += 2; return map(view.getUint16(pos - 2));
+            case 0xdf: pos += 4; return map(view.getUint32(pos - 4));
+            default: throw new Error(`Unsupported MessagePack type 0x${type.toString(16)}`);
+        }
+    };
+
+    return read();
+}